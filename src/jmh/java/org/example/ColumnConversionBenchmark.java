@@ -0,0 +1,54 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of converting one cell with each kind of {@link ColumnDefinition}, on cells read from a generated workbook.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ColumnConversionBenchmark {
+    private static final int CELLS = 4096;
+
+    @Param({"INTEGER", "DOUBLE", "CURRENCY", "DATE", "BOOLEAN", "STRING", "ENUM", "CUSTOM"})
+    public String column;
+
+    private ColumnDefinition<?> columnDefinition;
+    private ColumnParser<?> parser;
+    private CellValue[] cells;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var syntheticColumn = SyntheticColumn.valueOf(column);
+        var parsedRows = Main.readExcel(new ByteArrayInputStream(SyntheticWorkbook.generate(ColumnMix.MIXED, CELLS, 7)));
+        int index = ColumnMix.MIXED.columns.indexOf(syntheticColumn);
+
+        cells = parsedRows.subList(1, parsedRows.size()).stream()
+                .map(row -> row.cellValues().get(index))
+                .toArray(CellValue[]::new);
+        columnDefinition = syntheticColumn.columnDefinition;
+        parser = columnDefinition.compile();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CELLS)
+    public void compiled(Blackhole blackhole) {
+        for (var cellValue : cells)
+            blackhole.consume(parser.parse(cellValue));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CELLS)
+    public void definition(Blackhole blackhole) {
+        for (var cellValue : cells)
+            blackhole.consume(columnDefinition.getValue(cellValue));
+    }
+}
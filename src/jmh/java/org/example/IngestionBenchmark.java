@@ -0,0 +1,80 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of reading a generated workbook and of converting its rows to typed values. Besides ops/s every benchmark
+ * reports {@code rows} per second; run with {@code -prof gc} for allocation rate.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class IngestionBenchmark {
+    @Param({"1000", "50000"})
+    public int rows;
+
+    @Param({"MIXED", "NUMERIC", "TEXT"})
+    public String mix;
+
+    private byte[] workbook;
+    private List<ParsedRow> dataRows;
+    private RowConverter converter;
+    private ParallelRowConverter parallelConverter;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class RowCounter {
+        public long rows;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rows = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var columnMix = ColumnMix.valueOf(mix);
+        workbook = SyntheticWorkbook.generate(columnMix, rows, 42);
+        var parsedRows = Main.readExcel(new ByteArrayInputStream(workbook));
+        dataRows = parsedRows.subList(1, parsedRows.size());
+        converter = RowConverter.compile(columnMix.columnDefinitions());
+        parallelConverter = ParallelRowConverter.of(columnMix.columnDefinitions());
+    }
+
+    @Benchmark
+    public void read(RowCounter counter, Blackhole blackhole) {
+        var parsedRows = Main.readExcel(new ByteArrayInputStream(workbook));
+        blackhole.consume(parsedRows);
+        counter.rows += parsedRows.size();
+    }
+
+    @Benchmark
+    public void convert(RowCounter counter, Blackhole blackhole) {
+        for (var parsedRow : dataRows)
+            blackhole.consume(converter.convert(parsedRow));
+        counter.rows += dataRows.size();
+    }
+
+    @Benchmark
+    public void convertParallel(RowCounter counter, Blackhole blackhole) {
+        blackhole.consume(parallelConverter.convert(dataRows));
+        counter.rows += dataRows.size();
+    }
+
+    @Benchmark
+    public void readAndConvert(RowCounter counter, Blackhole blackhole) {
+        var parsedRows = Main.readExcel(new ByteArrayInputStream(workbook));
+        for (var parsedRow : parsedRows.subList(1, parsedRows.size()))
+            blackhole.consume(converter.convert(parsedRow));
+        counter.rows += parsedRows.size() - 1;
+    }
+}
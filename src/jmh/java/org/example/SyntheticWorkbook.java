@@ -0,0 +1,144 @@
+package org.example;
+
+import net.datafaker.Faker;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * One generated column: its definition and how a random cell of it is written.
+ */
+enum SyntheticColumn {
+    INTEGER(IntegerColumnDefinition.INSTANCE) {
+        @Override
+        void write(Cell cell, Faker faker, CellStyle dateStyle) {
+            cell.setCellValue(faker.number().numberBetween(-1_000, 100_000));
+        }
+    },
+    DOUBLE(new DoubleColumnDefinition("#,##0.###")) {
+        @Override
+        void write(Cell cell, Faker faker, CellStyle dateStyle) {
+            double value = faker.number().randomDouble(3, -1_000_000, 1_000_000);
+            if (faker.bool().bool()) cell.setCellValue(value);
+            else cell.setCellValue(String.format(Locale.US, "%,.3f", value));
+        }
+    },
+    CURRENCY(CurrencyColumnDefinition.INSTANCE) {
+        @Override
+        void write(Cell cell, Faker faker, CellStyle dateStyle) {
+            cell.setCellValue(faker.commerce().price());
+        }
+    },
+    DATE(new DateColumnDefinition("dd.MM.yyyy")) {
+        @Override
+        void write(Cell cell, Faker faker, CellStyle dateStyle) {
+            var date = LocalDate.of(2000, 1, 1).plusDays(faker.number().numberBetween(0, 10_000));
+            if (faker.bool().bool()) {
+                cell.setCellValue(date);
+                cell.setCellStyle(dateStyle);
+            } else cell.setCellValue("%02d.%02d.%d".formatted(date.getDayOfMonth(), date.getMonthValue(), date.getYear()));
+        }
+    },
+    BOOLEAN(BooleanColumnDefinition.INSTANCE) {
+        @Override
+        void write(Cell cell, Faker faker, CellStyle dateStyle) {
+            cell.setCellValue(faker.bool().bool());
+        }
+    },
+    STRING(new StringColumnDefinition()) {
+        @Override
+        void write(Cell cell, Faker faker, CellStyle dateStyle) {
+            cell.setCellValue(faker.name().fullName());
+        }
+    },
+    ENUM(new EnumColumnDefinition(Color.class)) {
+        @Override
+        void write(Cell cell, Faker faker, CellStyle dateStyle) {
+            cell.setCellValue(faker.options().option("red", "green", "blue", "Red", "BLUE"));
+        }
+    },
+    CUSTOM(new CustomColumnDefinition(Price.class)) {
+        @Override
+        void write(Cell cell, Faker faker, CellStyle dateStyle) {
+            if (faker.number().numberBetween(0, 10) == 0) cell.setCellValue("mkt");
+            else cell.setCellValue(faker.commerce().price());
+        }
+    },
+    EMPTY(EmptyColumnDefinition.INSTANCE) {
+        @Override
+        void write(Cell cell, Faker faker, CellStyle dateStyle) {
+        }
+    };
+
+    final ColumnDefinition<?> columnDefinition;
+
+    SyntheticColumn(ColumnDefinition<?> columnDefinition) {
+        this.columnDefinition = columnDefinition;
+    }
+
+    abstract void write(Cell cell, Faker faker, CellStyle dateStyle);
+}
+
+/**
+ * Column layouts of generated workbooks.
+ */
+enum ColumnMix {
+    MIXED(List.of(SyntheticColumn.INTEGER, SyntheticColumn.DOUBLE, SyntheticColumn.EMPTY, SyntheticColumn.CURRENCY,
+            SyntheticColumn.DATE, SyntheticColumn.STRING, SyntheticColumn.ENUM, SyntheticColumn.CUSTOM, SyntheticColumn.BOOLEAN)),
+    NUMERIC(List.of(SyntheticColumn.INTEGER, SyntheticColumn.DOUBLE, SyntheticColumn.CURRENCY, SyntheticColumn.DATE,
+            SyntheticColumn.INTEGER, SyntheticColumn.DOUBLE)),
+    TEXT(List.of(SyntheticColumn.STRING, SyntheticColumn.ENUM, SyntheticColumn.CUSTOM, SyntheticColumn.STRING,
+            SyntheticColumn.ENUM, SyntheticColumn.STRING));
+
+    final List<SyntheticColumn> columns;
+
+    ColumnMix(List<SyntheticColumn> columns) {
+        this.columns = columns;
+    }
+
+    List<ColumnDefinition<?>> columnDefinitions() {
+        return columns.stream().<ColumnDefinition<?>>map(column -> column.columnDefinition).toList();
+    }
+}
+
+/**
+ * Generates reproducible xlsx workbooks: a header row followed by {@code rows} data rows. Strings go through the shared
+ * strings table like in workbooks saved by Excel.
+ */
+final class SyntheticWorkbook {
+    private SyntheticWorkbook() {
+    }
+
+    static byte[] generate(ColumnMix mix, int rows, long seed) {
+        var faker = new Faker(new Random(seed));
+        try (var workbook = new SXSSFWorkbook(null, 1000, false, true); var out = new ByteArrayOutputStream()) {
+            var dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.createDataFormat().getFormat("dd.MM.yyyy"));
+
+            var sheet = workbook.createSheet("Data");
+            var header = sheet.createRow(0);
+            for (int c = 0; c < mix.columns.size(); c++)
+                header.createCell(c).setCellValue(mix.columns.get(c).name());
+
+            for (int r = 1; r <= rows; r++) {
+                var row = sheet.createRow(r);
+                for (int c = 0; c < mix.columns.size(); c++)
+                    mix.columns.get(c).write(row.createCell(c), faker, dateStyle);
+            }
+
+            workbook.write(out);
+            workbook.dispose();
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
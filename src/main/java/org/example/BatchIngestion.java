@@ -0,0 +1,195 @@
+package org.example;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.BiConsumer;
+
+/**
+ * Column definitions applied to every sheet of files whose name matches {@code glob}, e.g. {@code "orders-*.xlsx"}.
+ * CSV and TSV files are read as one sheet named after the file.
+ */
+record FileSchema(String glob, List<? extends ColumnDefinition<?>> columnDefinitions) {
+}
+
+/**
+ * @param bytes   file size
+ * @param nanos   time from opening the file until its sheets were handed to the sink
+ * @param failure reason the file was skipped, {@code null} when it was ingested
+ */
+record FileReport(Path file, long bytes, int sheetCount, long rowCount, long nanos, String failure) {
+    boolean succeeded() {
+        return failure == null;
+    }
+
+    double rowsPerSecond() {
+        return nanos == 0 ? Double.POSITIVE_INFINITY : rowCount * 1_000_000_000.0 / nanos;
+    }
+
+    double megabytesPerSecond() {
+        return nanos == 0 ? Double.POSITIVE_INFINITY : bytes * 1_000.0 / nanos;
+    }
+}
+
+/**
+ * @param files one report per file, in input order
+ */
+record BatchReport(List<FileReport> files, long nanos) {
+    List<FileReport> failures() {
+        return files.stream().filter(report -> !report.succeeded()).toList();
+    }
+
+    long rowCount() {
+        return files.stream().mapToLong(FileReport::rowCount).sum();
+    }
+}
+
+/**
+ * Ingests many files concurrently. At most {@code parallelism} files are processed at a time, and a file starts only
+ * when its estimated memory fits into what is left of {@code memoryBudget}. Failure of one file is reported and does
+ * not stop the batch.
+ * <p>
+ * Column definitions are compiled once per {@link FileSchema} and shared by all files, while value dictionaries are
+ * started afresh for every file; date format classification is shared process-wide by {@link DateStyleCache}.
+ */
+@Slf4j
+final class BatchIngestion {
+    /**
+     * Heap needed per byte of input for ingested values, a rough upper bound for compressed .xlsx.
+     */
+    static final int MEMORY_PER_FILE_BYTE = 16;
+
+    private final List<CompiledSchema> schemas;
+    private final int parallelism;
+    private final long memoryBudget;
+
+    private record CompiledSchema(PathMatcher matcher, RowConverter converter, ColumnProjection projection) {
+    }
+
+    BatchIngestion(List<FileSchema> schemas, int parallelism, long memoryBudget) {
+        if (parallelism <= 0) throw new IllegalArgumentException("parallelism must be positive");
+        if (memoryBudget < 1024) throw new IllegalArgumentException("memoryBudget must be at least 1 KB");
+        this.schemas = schemas.stream()
+                .map(schema -> new CompiledSchema(FileSystems.getDefault().getPathMatcher("glob:" + schema.glob()),
+                        RowConverter.compile(schema.columnDefinitions()), ColumnProjection.from(schema.columnDefinitions())))
+                .toList();
+        this.parallelism = parallelism;
+        this.memoryBudget = memoryBudget;
+    }
+
+    /**
+     * Ingests regular files of the directory (not recursively) matched by any schema, in file name order.
+     */
+    BatchReport ingest(Path directory, BiConsumer<Path, Map<String, IngestedSheet>> sink) throws IOException {
+        List<Path> files;
+        try (var entries = Files.list(directory)) {
+            files = entries.filter(Files::isRegularFile).filter(file -> schemaFor(file).isPresent()).sorted().toList();
+        }
+        return ingest(files, sink);
+    }
+
+    /**
+     * @param sink receives sheets of every ingested file; called concurrently from worker threads, a file's memory is
+     *             released from the budget once its call returns
+     */
+    BatchReport ingest(List<Path> files, BiConsumer<Path, Map<String, IngestedSheet>> sink) {
+        long start = System.nanoTime();
+        int budgetKilobytes = (int) Math.min(memoryBudget / 1024, Integer.MAX_VALUE);
+        var memory = new Semaphore(budgetKilobytes, true);
+
+        var tasks = new ArrayList<Future<FileReport>>(files.size());
+        try (var executor = Executors.newFixedThreadPool(parallelism)) {
+            for (var file : files)
+                tasks.add(executor.submit(() -> ingestFile(file, memory, budgetKilobytes, sink)));
+        }
+
+        var reports = new ArrayList<FileReport>(files.size());
+        for (int i = 0; i < tasks.size(); i++) reports.add(report(files.get(i), tasks.get(i)));
+        var report = new BatchReport(List.copyOf(reports), System.nanoTime() - start);
+        log.info("Ingested {} files ({} failed, {} rows) in {} ms", files.size(), report.failures().size(),
+                report.rowCount(), report.nanos() / 1_000_000);
+        return report;
+    }
+
+    private FileReport ingestFile(Path file, Semaphore memory, int budgetKilobytes,
+                                  BiConsumer<Path, Map<String, IngestedSheet>> sink) throws InterruptedException {
+        long bytes = -1;
+        long start = System.nanoTime();
+        try {
+            var schema = schemaFor(file).orElseThrow(() -> new IllegalArgumentException("No schema matches file"));
+            bytes = Files.size(file);
+            int permits = Math.clamp(bytes * MEMORY_PER_FILE_BYTE / 1024, 1, budgetKilobytes);
+
+            memory.acquire(permits);
+            try {
+                start = System.nanoTime();
+                var sheets = read(file, schema);
+                sink.accept(file, sheets);
+                long rowCount = sheets.values().stream().mapToLong(sheet -> sheet.rows().size()).sum();
+                return new FileReport(file, bytes, sheets.size(), rowCount, System.nanoTime() - start, null);
+            } finally {
+                memory.release(permits);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Skipping {}: {}", file, e.getMessage());
+            return new FileReport(file, bytes, 0, 0, System.nanoTime() - start, describe(e));
+        }
+    }
+
+    private static Map<String, IngestedSheet> read(Path file, CompiledSchema schema) throws IOException {
+        var fileName = file.getFileName().toString();
+        var converter = schema.converter().session();
+        var csvFormat = csvFormat(fileName);
+        if (csvFormat != null) {
+            var sheet = WorkbookIngestion.ingestSheet(rowConsumer -> CsvReader.read(file, csvFormat, rowConsumer), fileName, converter);
+            return Map.of(fileName, sheet);
+        }
+
+        var sheets = new LinkedHashMap<String, IngestedSheet>();
+        try (var reader = SheetReader.open(file)) {
+            for (var sheetName : reader.sheetNames()) {
+                sheets.put(sheetName, WorkbookIngestion.ingestSheet(
+                        rowConsumer -> reader.readSheet(sheetName, schema.projection(), rowConsumer), sheetName, converter));
+            }
+        }
+        return sheets;
+    }
+
+    private static CsvFormat csvFormat(String fileName) {
+        var lower = fileName.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".csv")) return CsvFormat.CSV;
+        if (lower.endsWith(".tsv")) return CsvFormat.TSV;
+        return null;
+    }
+
+    private Optional<CompiledSchema> schemaFor(Path file) {
+        var fileName = file.getFileName();
+        return schemas.stream().filter(schema -> schema.matcher().matches(fileName)).findFirst();
+    }
+
+    private static FileReport report(Path file, Future<FileReport> task) {
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            return new FileReport(file, -1, 0, 0, 0, describe(e.getCause()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new FileReport(file, -1, 0, 0, 0, "Interrupted");
+        }
+    }
+
+    private static String describe(Throwable e) {
+        var cause = e instanceof UncheckedIOException io ? io.getCause() : e;
+        return cause.getClass().getSimpleName() + ": " + cause.getMessage();
+    }
+}
@@ -7,13 +7,8 @@ import com.fasterxml.jackson.databind.node.TextNode;
 import org.apache.poi.ss.usermodel.DateUtil;
 
 import java.io.IOException;
-import java.math.BigDecimal;
-import java.text.DecimalFormat;
-import java.text.NumberFormat;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.Iterator;
-import java.util.Locale;
 import java.util.Map;
 import java.util.function.DoubleFunction;
 import java.util.function.Function;
@@ -28,6 +23,8 @@ sealed interface ColumnDefinition<TValue extends Value> permits
     TValue getValue(CellValue cellValue);
 
     ColumnDefinitionKind getKind();
+
+    ColumnParser<TValue> compile();
 }
 
 enum ColumnDefinitionKind {
@@ -249,6 +246,11 @@ final class EmptyColumnDefinition implements ColumnDefinition<Value> {
         return ColumnDefinitionKind.EMPTY;
     }
 
+    @Override
+    public ColumnParser<Value> compile() {
+        return this::getValue;
+    }
+
     @Override
     public String toString() {
         return "EmptyColumnDefinition";
@@ -265,12 +267,12 @@ final class BooleanColumnDefinition implements ColumnDefinition<BooleanValueBase
     @Override
     public BooleanValueBase getValue(CellValue cellValue) {
         return switch (cellValue) {
-            case NumberCellValue(var num) -> new BooleanValue(num != 0);
-            case StringCellValue(var text) -> new BooleanValue(text != null && !text.isEmpty());
+            case NumberCellValue(var num) -> BooleanValue.of(num != 0);
+            case StringCellValue(var text) -> BooleanValue.of(text != null && !text.isEmpty());
             case EmptyCellValue ignored -> BooleanValueBlank.INSTANCE;
             case ErrorCellValue(var err) -> new BooleanValueError(err);
-            case BooleanCellValue(var b) -> new BooleanValue(b);
-            case DateCellValue(var date) -> new BooleanValue(date != LocalDate.MIN);
+            case BooleanCellValue(var b) -> BooleanValue.of(b);
+            case DateCellValue(var date) -> BooleanValue.of(date != LocalDate.MIN);
         };
     }
 
@@ -279,6 +281,11 @@ final class BooleanColumnDefinition implements ColumnDefinition<BooleanValueBase
         return ColumnDefinitionKind.BOOLEAN;
     }
 
+    @Override
+    public ColumnParser<BooleanValueBase> compile() {
+        return this::getValue;
+    }
+
     @Override
     public String toString() {
         return "BooleanColumnDefinition";
@@ -294,18 +301,17 @@ final class IntegerColumnDefinition implements ColumnDefinition<IntegerValueBase
     @Override
     public IntegerValueBase getValue(CellValue cellValue) {
         return switch (cellValue) {
-            case NumberCellValue(var num) -> new IntegerValue((int) Math.round(num));
+            case NumberCellValue(var num) -> IntegerValue.of((int) Math.round(num));
             case StringCellValue(var text) -> {
-                try {
-                    yield new IntegerValue(Integer.parseInt(text));
-                } catch (NumberFormatException e) {
-                    yield new IntegerValueError("String value is not an integer: " + text);
-                }
+                long parsed = NumericText.parseInt(text);
+                yield parsed == NumericText.NOT_AN_INTEGER
+                        ? new IntegerValueError(ErrorDetail.of(ErrorCode.NOT_AN_INTEGER, text))
+                        : IntegerValue.of((int) parsed);
             }
             case EmptyCellValue ignored -> IntegerValueBlank.INSTANCE;
             case ErrorCellValue(var err) -> new IntegerValueError(err);
-            case BooleanCellValue(var b) -> new IntegerValue(b ? 1 : 0);
-            case DateCellValue(var date) -> new IntegerValue((int) Math.floor(DateUtil.getExcelDate(date)));
+            case BooleanCellValue(var b) -> IntegerValue.of(b ? 1 : 0);
+            case DateCellValue(var date) -> IntegerValue.of((int) Math.floor(DateUtil.getExcelDate(date)));
         };
     }
 
@@ -314,6 +320,11 @@ final class IntegerColumnDefinition implements ColumnDefinition<IntegerValueBase
         return ColumnDefinitionKind.INTEGER;
     }
 
+    @Override
+    public ColumnParser<IntegerValueBase> compile() {
+        return this::getValue;
+    }
+
     @Override
     public String toString() {
         return "IntegerColumnDefinition";
@@ -328,23 +339,12 @@ record DoubleColumnDefinition(String format) implements ColumnDefinition<DoubleV
 
     @Override
     public DoubleValueBase getValue(CellValue cellValue) {
-        return switch (cellValue) {
-            case NumberCellValue(var num) -> new DoubleValue(num);
-            case StringCellValue(var text) -> {
-                try {
-                    var df = (DecimalFormat) NumberFormat.getNumberInstance(Locale.US);
-                    if (format instanceof String f && !f.isEmpty())
-                        df.applyPattern(f);
-                    yield new DoubleValue(df.parse(text).doubleValue());
-                } catch (Exception e) {
-                    yield new DoubleValueError("String value is not valid number: " + text + " under format '" + format + "'");
-                }
-            }
-            case EmptyCellValue ignored -> DoubleValueBlank.INSTANCE;
-            case ErrorCellValue(var err) -> new DoubleValueError(err);
-            case BooleanCellValue(var b) -> new DoubleValue(b ? 1.0 : 0.0);
-            case DateCellValue(var date) -> new DoubleValue(DateUtil.getExcelDate(date));
-        };
+        return ColumnParsers.compiled(this).parse(cellValue);
+    }
+
+    @Override
+    public ColumnParser<DoubleValueBase> compile() {
+        return new DoubleColumnParser(format);
     }
 
     @Override
@@ -361,23 +361,12 @@ record DateColumnDefinition(String format) implements ColumnDefinition<DateValue
 
     @Override
     public DateValueBase getValue(CellValue cellValue) {
-        return switch (cellValue) {
-            case NumberCellValue(double num) -> new DateValue(DateUtil.getLocalDateTime(num).toLocalDate());
-            case StringCellValue(String text) -> {
-                var f = format != null && !format.isEmpty() ? format : "yyyy/MM/dd";
-                try {
-                    var formatter = DateTimeFormatter.ofPattern(f).withLocale(Locale.US);
-
-                    yield new DateValue(LocalDate.parse(text, formatter));
-                } catch (Exception e) {
-                    yield new DateValueError("Date cannot be parsed from: " + text + " with format: '" + f + "'");
-                }
-            }
-            case EmptyCellValue ignored -> DateValueBlank.INSTANCE;
-            case ErrorCellValue(var err) -> new DateValueError(err);
-            case BooleanCellValue(boolean value) -> new DateValue(value ? LocalDate.MAX : LocalDate.MIN);
-            case DateCellValue(var date) -> new DateValue(date);
-        };
+        return ColumnParsers.compiled(this).parse(cellValue);
+    }
+
+    @Override
+    public ColumnParser<DateValueBase> compile() {
+        return new DateColumnParser(format);
     }
 
     @Override
@@ -394,23 +383,12 @@ final class CurrencyColumnDefinition implements ColumnDefinition<CurrencyValueBa
 
     @Override
     public CurrencyValueBase getValue(CellValue cellValue) {
-        return switch (cellValue) {
-            case NumberCellValue(var num) -> new CurrencyValue(BigDecimal.valueOf(num));
-            case StringCellValue(var text) -> {
-                try {
-                    var df = (DecimalFormat) NumberFormat.getNumberInstance(Locale.US);
-                    df.setParseBigDecimal(true);
-
-                    yield new CurrencyValue((BigDecimal) df.parseObject(text));
-                } catch (Exception e) {
-                    yield new CurrencyValueError("String value is not valid number: " + text);
-                }
-            }
-            case EmptyCellValue ignored -> CurrencyValueBlank.INSTANCE;
-            case ErrorCellValue(var err) -> new CurrencyValueError(err);
-            case BooleanCellValue(var b) -> new CurrencyValue(b ? BigDecimal.ONE : BigDecimal.ZERO);
-            case DateCellValue(var date) -> new CurrencyValue(BigDecimal.valueOf(DateUtil.getExcelDate(date)));
-        };
+        return CurrencyColumnParser.INSTANCE.parse(cellValue);
+    }
+
+    @Override
+    public ColumnParser<CurrencyValueBase> compile() {
+        return CurrencyColumnParser.INSTANCE;
     }
 
     @Override
@@ -430,33 +408,12 @@ record StringColumnDefinition(String format) implements ColumnDefinition<StringV
     }
 
     public StringValueBase getValue(CellValue cellValue) {
-        return switch (cellValue) {
-            case NumberCellValue(var num) -> {
-                try {
-                    var df = (DecimalFormat) NumberFormat.getNumberInstance(Locale.US);
-                    if (format instanceof String f && !f.isEmpty())
-                        df.applyPattern(f);
-                    yield new StringValue(df.format(num));
-                } catch (Exception e) {
-                    yield new StringValueError("String cannot be formatted from number: " + num);
-                }
-            }
-            case StringCellValue(var text) ->
-                    text == null || text.isEmpty() ? StringValueBlank.INSTANCE : new StringValue(text);
-            case EmptyCellValue ignored -> StringValueBlank.INSTANCE;
-            case ErrorCellValue(var err) -> new StringValueError(err);
-            case BooleanCellValue(var b) -> new StringValue(b ? "TRUE" : "FALSE");
-            case DateCellValue(var date) -> {
-                var f = format != null && !format.isEmpty() ? format : "yyyy/MM/dd";
-                try {
-                    var formatter = DateTimeFormatter.ofPattern(f).withLocale(Locale.US);
-
-                    yield new StringValue(formatter.format(date));
-                } catch (Exception e) {
-                    yield new StringValueError("String cannot be formatted from date: " + date + " with format: '" + f + "'");
-                }
-            }
-        };
+        return ColumnParsers.compiled(this).parse(cellValue);
+    }
+
+    @Override
+    public ColumnParser<StringValueBase> compile() {
+        return new StringColumnParser(format);
     }
 
     @Override
@@ -475,19 +432,12 @@ record EnumColumnDefinition(Class<? extends Enum<?>> enumType) implements Column
             enumParsers.keySet().stream().collect(Collectors.toMap(Class::getSimpleName, Function.identity()));
 
     public EnumValueBase getValue(CellValue cellValue) {
-        return switch (cellValue) {
-            case StringCellValue(String text) -> {
-                var enumParser = enumParsers.get(enumType);
-                if (enumParser == null)
-                    yield new EnumValueError("Not supported enumeration: " + enumType.getSimpleName());
+        return ColumnParsers.compiled(this).parse(cellValue);
+    }
 
-                var enumValue = enumParser.apply(text);
-                yield enumValue != null ? new EnumValue<>(enumValue) : new EnumValueError(enumType.getSimpleName() + " cannot be parsed from:" + text);
-            }
-            case EmptyCellValue ignored -> EnumValueBlank.INSTANCE;
-            case ErrorCellValue(var err) -> new EnumValueError(err);
-            default -> new EnumValueError("Enum value cannot be obtained");
-        };
+    @Override
+    public ColumnParser<EnumValueBase> compile() {
+        return new EnumColumnParser(enumType, enumParsers.get(enumType));
     }
 
     @Override
@@ -497,8 +447,8 @@ record EnumColumnDefinition(Class<? extends Enum<?>> enumType) implements Column
 }
 
 record CustomColumnDefinition(Class<?> customType) implements ColumnDefinition<CustomValueBase> {
-    private static final Map<Class<?>, Function<String, ?>> textParsers = Map.of(
-            Price.class, Price::parse
+    private static final Map<Class<?>, TextParser<?>> textParsers = Map.of(
+            Price.class, (TextParser<Price>) Price::tryParse
     );
 
     private static final Map<Class<?>, DoubleFunction<?>> numberParsers = Map.of(
@@ -509,35 +459,12 @@ record CustomColumnDefinition(Class<?> customType) implements ColumnDefinition<C
             textParsers.keySet().stream().collect(Collectors.toMap(Class::getSimpleName, Function.identity()));
 
     public CustomValueBase getValue(CellValue cellValue) {
-        return switch (cellValue) {
-            case StringCellValue(String text) -> {
-                var textParser = textParsers.get(customType);
-                if (textParser == null)
-                    yield new CustomValueError("Custom type is not supported for text parsing: " + customType.getSimpleName());
-
-                try {
-                    var parsed = textParser.apply(text);
-                    yield parsed == null ? new CustomValueError(customType.getSimpleName() + " cannot be parsed from: " + text) : new CustomValue<>(parsed);
-                } catch (Exception e) {
-                    yield new CustomValueError(customType.getSimpleName() + " cannot be parsed from: " + text + " due to: " + e.getMessage());
-                }
-            }
-            case NumberCellValue(double num) -> {
-                var numParser = numberParsers.get(customType);
-                if (numParser == null)
-                    yield new CustomValueError("Custom type is not supported for number conversion: " + customType.getSimpleName());
-
-                try {
-                    var converted = numParser.apply(num);
-                    yield converted == null ? new CustomValueError(customType.getSimpleName() + " cannot be converted from: " + num) : new CustomValue<>(converted);
-                } catch (Exception e) {
-                    yield new CustomValueError(customType.getSimpleName() + " cannot be converted from: " + num + " due to: " + e.getMessage());
-                }
-            }
-            case EmptyCellValue ignored -> CustomValueBlank.INSTANCE;
-            case ErrorCellValue(var err) -> new CustomValueError(err);
-            default -> new CustomValueError("Custom value cannot be obtained");
-        };
+        return ColumnParsers.compiled(this).parse(cellValue);
+    }
+
+    @Override
+    public ColumnParser<CustomValueBase> compile() {
+        return new CustomColumnParser(customType, textParsers.get(customType), numberParsers.get(customType));
     }
 
     @Override
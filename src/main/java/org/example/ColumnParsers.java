@@ -0,0 +1,488 @@
+package org.example;
+
+import org.apache.poi.ss.usermodel.DateUtil;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.chrono.IsoChronology;
+import java.time.format.DateTimeFormatter;
+import java.time.format.ResolverStyle;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleFunction;
+import java.util.function.Function;
+
+/**
+ * Compiled form of a {@link ColumnDefinition}: patterns are parsed once, instances are safe to share between threads.
+ */
+@FunctionalInterface
+interface ColumnParser<TValue extends Value> {
+    TValue parse(CellValue cellValue);
+
+    /**
+     * @return parser for one read (a sheet or a file) sharing compiled patterns but with its own per-read state, such
+     * as a fresh {@link ValueDictionary}; stateless parsers return themselves
+     */
+    default ColumnParser<TValue> session() {
+        return this;
+    }
+}
+
+final class ColumnParsers {
+    private ColumnParsers() {
+    }
+
+    private static final Map<ColumnDefinition<?>, ColumnParser<?>> compiled = new ConcurrentHashMap<>();
+
+    static final String DEFAULT_DATE_FORMAT = "yyyy/MM/dd";
+
+    @SuppressWarnings("unchecked")
+    static <TValue extends Value> ColumnParser<TValue> compiled(ColumnDefinition<TValue> columnDefinition) {
+        return (ColumnParser<TValue>) compiled.computeIfAbsent(columnDefinition, ColumnDefinition::compile);
+    }
+
+    /**
+     * @return thread local supplier of US number format with given pattern applied or null when pattern is invalid
+     */
+    static ThreadLocal<DecimalFormat> decimalFormat(String format) {
+        var prototype = (DecimalFormat) NumberFormat.getNumberInstance(Locale.US);
+        try {
+            if (format instanceof String f && !f.isEmpty())
+                prototype.applyPattern(f);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return ThreadLocal.withInitial(() -> (DecimalFormat) prototype.clone());
+    }
+
+    /**
+     * @return US date formatter for given pattern or null when pattern is invalid
+     */
+    static DateTimeFormatter dateFormatter(String format) {
+        try {
+            return DateTimeFormatter.ofPattern(format).withLocale(Locale.US);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    static String dateFormatOrDefault(String format) {
+        return format != null && !format.isEmpty() ? format : DEFAULT_DATE_FORMAT;
+    }
+}
+
+/**
+ * Per-column memo of parsed values keyed by cell text, so every distinct string is parsed once. Growth stops at
+ * {@code capacity} distinct entries, which keeps free-text columns from turning into an unbounded cache. A dictionary
+ * lives for one read only (see {@link ColumnParser#session()}), so categories of every file get their own entries.
+ */
+final class ValueDictionary<TValue extends Value> {
+    static final int DEFAULT_CAPACITY = 4096;
+
+    private final Map<String, TValue> entries = new ConcurrentHashMap<>();
+    private final int capacity;
+
+    ValueDictionary(int capacity) {
+        this.capacity = capacity;
+    }
+
+    ValueDictionary() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    TValue get(String text, Function<String, TValue> parser) {
+        if (text == null) return parser.apply(null);
+
+        var value = entries.get(text);
+        if (value != null) return value;
+
+        value = parser.apply(text);
+        if (entries.size() < capacity) {
+            var existing = entries.putIfAbsent(text, value);
+            if (existing != null) return existing;
+        }
+        return value;
+    }
+
+    int size() {
+        return entries.size();
+    }
+}
+
+final class RowConverter {
+    private final List<? extends ColumnDefinition<?>> columnDefinitions;
+    private final ColumnParser<?>[] compiled;
+    private final ColumnParser<?>[] parsers;
+    private final ColumnDefinitionKind[] kinds;
+
+    private RowConverter(List<? extends ColumnDefinition<?>> columnDefinitions, ColumnParser<?>[] compiled, ColumnDefinitionKind[] kinds) {
+        this.columnDefinitions = columnDefinitions;
+        this.compiled = compiled;
+        this.parsers = Arrays.stream(compiled).map(ColumnParser::session).toArray(ColumnParser<?>[]::new);
+        this.kinds = kinds;
+    }
+
+    /**
+     * @return converter with its own per-read state; long-lived converters start a {@link #session()} for every read
+     */
+    static RowConverter compile(List<? extends ColumnDefinition<?>> columnDefinitions) {
+        return new RowConverter(List.copyOf(columnDefinitions),
+                columnDefinitions.stream().map(ColumnDefinition::compile).toArray(ColumnParser<?>[]::new),
+                columnDefinitions.stream().map(ColumnDefinition::getKind).toArray(ColumnDefinitionKind[]::new));
+    }
+
+    /**
+     * @return converter for one read sharing compiled patterns with this one but with fresh value dictionaries
+     */
+    RowConverter session() {
+        return new RowConverter(columnDefinitions, compiled, kinds);
+    }
+
+    List<? extends ColumnDefinition<?>> columnDefinitions() {
+        return columnDefinitions;
+    }
+
+    int columnCount() {
+        return parsers.length;
+    }
+
+    ColumnParser<?> parser(int column) {
+        return parsers[column];
+    }
+
+    ColumnDefinitionKind kind(int column) {
+        return kinds[column];
+    }
+
+    List<Value> convert(ParsedRow parsedRow) {
+        var cellValues = parsedRow.cellValues();
+
+        if (cellValues.size() != parsers.length) throw new IllegalStateException("Meta size do not match");
+
+        long start = IngestionMetrics.start();
+        var result = new ArrayList<Value>(parsers.length);
+
+        for (int i = 0; i < parsers.length; i++) {
+            var value = parsers[i].parse(cellValues.get(i));
+            IngestionMetrics.converted(kinds[i], value);
+            result.add(value);
+        }
+
+        IngestionMetrics.stop(IngestionMetrics.Phase.CONVERT, start);
+        return result;
+    }
+}
+
+final class CurrencyColumnParser implements ColumnParser<CurrencyValueBase> {
+    static final ColumnParser<CurrencyValueBase> INSTANCE = new CurrencyColumnParser();
+
+    private CurrencyColumnParser() {
+    }
+
+    @Override
+    public CurrencyValueBase parse(CellValue cellValue) {
+        return switch (cellValue) {
+            case NumberCellValue(var num) -> new CurrencyValue(BigDecimal.valueOf(num));
+            case StringCellValue(var text) -> NumericText.parseDecimal(text) instanceof BigDecimal decimal
+                    ? new CurrencyValue(decimal)
+                    : new CurrencyValueError(ErrorDetail.of(ErrorCode.NOT_A_NUMBER, text));
+            case EmptyCellValue ignored -> CurrencyValueBlank.INSTANCE;
+            case ErrorCellValue(var err) -> new CurrencyValueError(err);
+            case BooleanCellValue(var b) -> new CurrencyValue(b ? BigDecimal.ONE : BigDecimal.ZERO);
+            case DateCellValue(var date) -> new CurrencyValue(BigDecimal.valueOf(DateUtil.getExcelDate(date)));
+        };
+    }
+}
+
+final class DoubleColumnParser implements ColumnParser<DoubleValueBase> {
+    private final String format;
+    private final ThreadLocal<DecimalFormat> decimalFormat;
+    private final boolean plainFormat;
+    private final boolean grouping;
+
+    DoubleColumnParser(String format) {
+        this.format = format;
+        this.decimalFormat = ColumnParsers.decimalFormat(format);
+        this.plainFormat = NumericText.isPlainPattern(format);
+        this.grouping = decimalFormat != null && decimalFormat.get().isGroupingUsed();
+    }
+
+    @Override
+    public DoubleValueBase parse(CellValue cellValue) {
+        return switch (cellValue) {
+            case NumberCellValue(var num) -> new DoubleValue(num);
+            case StringCellValue(var text) -> {
+                double num = decimalFormat == null ? Double.NaN
+                        : plainFormat ? parsePlain(text)
+                        : parseWithPattern(text);
+                yield Double.isNaN(num)
+                        ? new DoubleValueError(ErrorDetail.of(ErrorCode.NOT_A_NUMBER_WITH_FORMAT, text, format))
+                        : new DoubleValue(num);
+            }
+            case EmptyCellValue ignored -> DoubleValueBlank.INSTANCE;
+            case ErrorCellValue(var err) -> new DoubleValueError(err);
+            case BooleanCellValue(var b) -> new DoubleValue(b ? 1.0 : 0.0);
+            case DateCellValue(var date) -> new DoubleValue(DateUtil.getExcelDate(date));
+        };
+    }
+
+    /**
+     * Fast path for text made only of characters that {@link DecimalFormat} reads the same way: digits, '.', '-'
+     * first or after 'E', 'E' and, when the pattern groups, ','. Everything else, including text the fast path
+     * rejects, is parsed with the pattern, so results never differ from it.
+     */
+    private double parsePlain(String text) {
+        if (text == null || text.isEmpty()) return Double.NaN;
+
+        int digits = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') digits++;
+            else if (!(c == '.' || c == 'E' || (c == ',' && grouping) || (c == '-' && (i == 0 || text.charAt(i - 1) == 'E'))))
+                return parseWithPattern(text);
+        }
+        // DecimalFormat keeps at most 19 significant digits
+        double num = digits <= 15 ? NumericText.parseDouble(text) : Double.NaN;
+        return Double.isNaN(num) ? parseWithPattern(text) : num;
+    }
+
+    private double parseWithPattern(String text) {
+        if (text == null) return Double.NaN;
+
+        var position = new ParsePosition(0);
+        var parsed = decimalFormat.get().parse(text, position);
+        return parsed == null || position.getIndex() == 0 ? Double.NaN : parsed.doubleValue();
+    }
+}
+
+final class DateColumnParser implements ColumnParser<DateValueBase> {
+    private static final LocalDate SAMPLE_DATE = LocalDate.of(2025, 12, 31);
+
+    private final String format;
+    private final DateTimeFormatter formatter;
+    private final ChronoField yearField;
+
+    DateColumnParser(String format) {
+        this.format = ColumnParsers.dateFormatOrDefault(format);
+        this.formatter = ColumnParsers.dateFormatter(this.format);
+        this.yearField = formatter == null ? null : plainYearField(formatter);
+    }
+
+    @Override
+    public DateValueBase parse(CellValue cellValue) {
+        return switch (cellValue) {
+            case NumberCellValue(double num) -> new DateValue(DateUtil.getLocalDateTime(num).toLocalDate());
+            case StringCellValue(String text) -> {
+                var date = parseDate(text);
+                yield date != null ? new DateValue(date) : new DateValueError(ErrorDetail.of(ErrorCode.DATE_NOT_PARSED, text, format));
+            }
+            case EmptyCellValue ignored -> DateValueBlank.INSTANCE;
+            case ErrorCellValue(var err) -> new DateValueError(err);
+            case BooleanCellValue(boolean value) -> new DateValue(value ? LocalDate.MAX : LocalDate.MIN);
+            case DateCellValue(var date) -> new DateValue(date);
+        };
+    }
+
+    /**
+     * Text is parsed once without exceptions. Plain year, month and day patterns are resolved here; other patterns,
+     * and text that left out an optional field, go through the formatter's resolver, which parses the text again.
+     */
+    private LocalDate parseDate(String text) {
+        if (formatter == null || text == null) return null;
+
+        var position = new ParsePosition(0);
+        var parsed = formatter.parseUnresolved(text, position);
+        if (parsed == null || position.getIndex() != text.length()) return null;
+        if (yearField != null && parsed.isSupported(yearField) && parsed.isSupported(ChronoField.MONTH_OF_YEAR) && parsed.isSupported(ChronoField.DAY_OF_MONTH))
+            return resolve(parsed.getLong(yearField), parsed.getLong(ChronoField.MONTH_OF_YEAR), parsed.getLong(ChronoField.DAY_OF_MONTH));
+        try {
+            return LocalDate.parse(text, formatter);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Same as the SMART resolver: fields must be in range and day is clamped to the length of the month.
+     */
+    private LocalDate resolve(long year, long month, long day) {
+        if (!yearField.range().isValidIntValue(year) || !ChronoField.YEAR.range().isValidIntValue(year)
+            || !ChronoField.MONTH_OF_YEAR.range().isValidValue(month) || !ChronoField.DAY_OF_MONTH.range().isValidValue(day)) return null;
+
+        var firstOfMonth = LocalDate.of((int) year, (int) month, 1);
+        return firstOfMonth.withDayOfMonth((int) Math.min(day, firstOfMonth.lengthOfMonth()));
+    }
+
+    /**
+     * @return year field of an ISO pattern with only year (or year of era), month and day fields, otherwise null
+     */
+    private static ChronoField plainYearField(DateTimeFormatter formatter) {
+        if (formatter.getResolverStyle() != ResolverStyle.SMART || formatter.getResolverFields() != null
+            || formatter.getZone() != null || !(formatter.getChronology() == null || formatter.getChronology() == IsoChronology.INSTANCE))
+            return null;
+
+        TemporalAccessor sample;
+        try {
+            sample = formatter.parseUnresolved(formatter.format(SAMPLE_DATE), new ParsePosition(0));
+        } catch (DateTimeException e) {
+            return null;
+        }
+        if (sample == null || sample.query(TemporalQueries.zone()) != null) return null;
+
+        var fields = EnumSet.noneOf(ChronoField.class);
+        for (var field : ChronoField.values())
+            if (sample.isSupported(field)) fields.add(field);
+        if (fields.equals(EnumSet.of(ChronoField.YEAR, ChronoField.MONTH_OF_YEAR, ChronoField.DAY_OF_MONTH))) return ChronoField.YEAR;
+        if (fields.equals(EnumSet.of(ChronoField.YEAR_OF_ERA, ChronoField.MONTH_OF_YEAR, ChronoField.DAY_OF_MONTH))) return ChronoField.YEAR_OF_ERA;
+        return null;
+    }
+}
+
+final class StringColumnParser implements ColumnParser<StringValueBase> {
+    private final ThreadLocal<DecimalFormat> decimalFormat;
+    private final String dateFormat;
+    private final DateTimeFormatter dateFormatter;
+    private final ValueDictionary<StringValueBase> dictionary;
+
+    StringColumnParser(String format) {
+        this.decimalFormat = ColumnParsers.decimalFormat(format);
+        this.dateFormat = ColumnParsers.dateFormatOrDefault(format);
+        this.dateFormatter = ColumnParsers.dateFormatter(dateFormat);
+        this.dictionary = null;
+    }
+
+    private StringColumnParser(StringColumnParser compiled) {
+        this.decimalFormat = compiled.decimalFormat;
+        this.dateFormat = compiled.dateFormat;
+        this.dateFormatter = compiled.dateFormatter;
+        this.dictionary = new ValueDictionary<>();
+    }
+
+    @Override
+    public ColumnParser<StringValueBase> session() {
+        return new StringColumnParser(this);
+    }
+
+    @Override
+    public StringValueBase parse(CellValue cellValue) {
+        return switch (cellValue) {
+            case NumberCellValue(var num) -> {
+                yield decimalFormat != null
+                        ? new StringValue(decimalFormat.get().format(num))
+                        : new StringValueError(ErrorDetail.of(ErrorCode.NUMBER_NOT_FORMATTED, num));
+            }
+            case StringCellValue(var text) ->
+                    text == null || text.isEmpty() ? StringValueBlank.INSTANCE
+                            : dictionary != null ? dictionary.get(text, StringValue::new) : new StringValue(text);
+            case EmptyCellValue ignored -> StringValueBlank.INSTANCE;
+            case ErrorCellValue(var err) -> new StringValueError(err);
+            case BooleanCellValue(var b) -> new StringValue(b ? "TRUE" : "FALSE");
+            case DateCellValue(var date) -> {
+                if (dateFormatter == null)
+                    yield new StringValueError(ErrorDetail.of(ErrorCode.DATE_NOT_FORMATTED, date, dateFormat));
+                try {
+                    yield new StringValue(dateFormatter.format(date));
+                } catch (DateTimeException e) {
+                    yield new StringValueError(ErrorDetail.of(ErrorCode.DATE_NOT_FORMATTED, date, dateFormat));
+                }
+            }
+        };
+    }
+}
+
+final class EnumColumnParser implements ColumnParser<EnumValueBase> {
+    private final Class<? extends Enum<?>> enumType;
+    private final Function<String, ? extends Enum<?>> enumParser;
+    private final ValueDictionary<EnumValueBase> dictionary;
+
+    EnumColumnParser(Class<? extends Enum<?>> enumType, Function<String, ? extends Enum<?>> enumParser) {
+        this.enumType = enumType;
+        this.enumParser = enumParser;
+        this.dictionary = null;
+    }
+
+    private EnumColumnParser(EnumColumnParser compiled) {
+        this.enumType = compiled.enumType;
+        this.enumParser = compiled.enumParser;
+        this.dictionary = new ValueDictionary<>();
+    }
+
+    @Override
+    public ColumnParser<EnumValueBase> session() {
+        return new EnumColumnParser(this);
+    }
+
+    @Override
+    public EnumValueBase parse(CellValue cellValue) {
+        return switch (cellValue) {
+            case StringCellValue(String text) -> {
+                if (enumParser == null)
+                    yield new EnumValueError(ErrorDetail.of(ErrorCode.ENUM_NOT_SUPPORTED, null, enumType));
+
+                yield dictionary != null ? dictionary.get(text, this::parseText) : parseText(text);
+            }
+            case EmptyCellValue ignored -> EnumValueBlank.INSTANCE;
+            case ErrorCellValue(var err) -> new EnumValueError(err);
+            default -> new EnumValueError(ErrorDetail.of(ErrorCode.ENUM_NOT_OBTAINED, cellValue));
+        };
+    }
+
+    private EnumValueBase parseText(String text) {
+        var enumValue = enumParser.apply(text);
+        return enumValue != null ? new EnumValue<>(enumValue) : new EnumValueError(ErrorDetail.of(ErrorCode.ENUM_NOT_PARSED, text, enumType));
+    }
+}
+
+final class CustomColumnParser implements ColumnParser<CustomValueBase> {
+    private final Class<?> customType;
+    private final TextParser<?> textParser;
+    private final DoubleFunction<?> numberParser;
+
+    CustomColumnParser(Class<?> customType, TextParser<?> textParser, DoubleFunction<?> numberParser) {
+        this.customType = customType;
+        this.textParser = textParser;
+        this.numberParser = numberParser;
+    }
+
+    @Override
+    public CustomValueBase parse(CellValue cellValue) {
+        return switch (cellValue) {
+            case StringCellValue(String text) -> {
+                if (textParser == null)
+                    yield new CustomValueError(ErrorDetail.of(ErrorCode.CUSTOM_TEXT_NOT_SUPPORTED, text, customType));
+
+                yield switch (textParser.tryParse(text)) {
+                    case ParseResult.Success<?>(var parsed) when parsed != null -> new CustomValue<>(parsed);
+                    case ParseResult.Success<?> ignored -> new CustomValueError(ErrorDetail.of(ErrorCode.CUSTOM_NOT_PARSED, text, customType));
+                    case ParseResult.Failure<?>(var reason) -> new CustomValueError(ErrorDetail.of(ErrorCode.CUSTOM_NOT_PARSED, text, customType, reason));
+                };
+            }
+            case NumberCellValue(double num) -> {
+                if (numberParser == null)
+                    yield new CustomValueError(ErrorDetail.of(ErrorCode.CUSTOM_NUMBER_NOT_SUPPORTED, num, customType));
+
+                try {
+                    var converted = numberParser.apply(num);
+                    yield converted == null ? new CustomValueError(ErrorDetail.of(ErrorCode.CUSTOM_NOT_CONVERTED, num, customType)) : new CustomValue<>(converted);
+                } catch (Exception e) {
+                    yield new CustomValueError(ErrorDetail.of(ErrorCode.CUSTOM_NOT_CONVERTED, num, customType, String.valueOf(e.getMessage())));
+                }
+            }
+            case EmptyCellValue ignored -> CustomValueBlank.INSTANCE;
+            case ErrorCellValue(var err) -> new CustomValueError(err);
+            default -> new CustomValueError(ErrorDetail.of(ErrorCode.CUSTOM_NOT_OBTAINED, cellValue));
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package org.example;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Columns a reader should materialise. Cells of other columns are skipped before their value is decoded and are read
+ * as {@link EmptyCellValue}, so rows keep their width. Only projected columns decide whether a row is empty.
+ */
+final class ColumnProjection {
+    static final ColumnProjection ALL = new ColumnProjection(null);
+
+    private final BitSet columns;
+
+    private ColumnProjection(BitSet columns) {
+        this.columns = columns;
+    }
+
+    static ColumnProjection of(int... columns) {
+        var set = new BitSet();
+        for (int column : columns) {
+            if (column < 0) throw new IllegalArgumentException("Column index cannot be negative: " + column);
+            set.set(column);
+        }
+        return new ColumnProjection(set);
+    }
+
+    /**
+     * Projects columns that are not declared as {@link EmptyColumnDefinition}.
+     */
+    static ColumnProjection from(List<? extends ColumnDefinition<?>> columnDefinitions) {
+        var set = new BitSet(columnDefinitions.size());
+        for (int i = 0; i < columnDefinitions.size(); i++)
+            if (columnDefinitions.get(i).getKind() != ColumnDefinitionKind.EMPTY) set.set(i);
+        return new ColumnProjection(set);
+    }
+
+    boolean includes(int column) {
+        return columns == null || columns.get(column);
+    }
+
+    @Override
+    public String toString() {
+        return columns == null ? "ColumnProjection[all]" : "ColumnProjection" + columns;
+    }
+}
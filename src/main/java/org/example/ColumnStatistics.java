@@ -0,0 +1,329 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.function.Consumer;
+
+/**
+ * Profiles converted rows as they pass by, so no rows have to be kept: one {@link ColumnStatistics} per column.
+ * Not thread-safe; profile parts of the data in separate profilers and {@link #merge(ColumnProfiler)} them.
+ */
+final class ColumnProfiler implements Consumer<List<Value>> {
+    private final ColumnStatistics[] columns;
+
+    ColumnProfiler(List<? extends ColumnDefinition<?>> columnDefinitions) {
+        this.columns = columnDefinitions.stream().map(ColumnStatistics::new).toArray(ColumnStatistics[]::new);
+    }
+
+    @Override
+    public void accept(List<Value> row) {
+        if (row.size() != columns.length) throw new IllegalStateException("Meta size do not match");
+        for (int i = 0; i < columns.length; i++)
+            columns[i].accept(row.get(i));
+    }
+
+    void merge(ColumnProfiler other) {
+        if (other.columns.length != columns.length) throw new IllegalStateException("Meta size do not match");
+        for (int i = 0; i < columns.length; i++)
+            columns[i].merge(other.columns[i]);
+    }
+
+    List<ColumnStatistics> statistics() {
+        return List.of(columns);
+    }
+}
+
+/**
+ * Exact counts and min/max plus approximate distinct count ({@link HyperLogLog}) of one column; integer, double,
+ * currency and date columns also get a {@link QuantileSketch}. Min and max compare values naturally (enums by
+ * ordinal); custom values have none.
+ */
+final class ColumnStatistics {
+    private final ColumnDefinition<?> columnDefinition;
+    private final HyperLogLog distinct = new HyperLogLog();
+    private final QuantileSketch quantiles;
+    private long count;
+    private long blankCount;
+    private long errorCount;
+    private Value min;
+    private Value max;
+
+    ColumnStatistics(ColumnDefinition<?> columnDefinition) {
+        this.columnDefinition = columnDefinition;
+        this.quantiles = switch (columnDefinition.getKind()) {
+            case INTEGER, DOUBLE, CURRENCY, DATE -> new QuantileSketch(QuantileSketch.DEFAULT_K);
+            default -> null;
+        };
+    }
+
+    void accept(Value value) {
+        count++;
+        switch (value) {
+            case Blank ignored -> blankCount++;
+            case ErrorValue ignored -> errorCount++;
+            default -> {
+                distinct.add(hash(value));
+                if (quantiles != null) quantiles.add(numeric(value));
+                if (min == null || compare(value, min) < 0) min = value;
+                if (max == null || compare(value, max) > 0) max = value;
+            }
+        }
+    }
+
+    void merge(ColumnStatistics other) {
+        count += other.count;
+        blankCount += other.blankCount;
+        errorCount += other.errorCount;
+        distinct.merge(other.distinct);
+        if (quantiles != null && other.quantiles != null) quantiles.merge(other.quantiles);
+        if (other.min != null && (min == null || compare(other.min, min) < 0)) min = other.min;
+        if (other.max != null && (max == null || compare(other.max, max) > 0)) max = other.max;
+    }
+
+    ColumnDefinition<?> columnDefinition() {
+        return columnDefinition;
+    }
+
+    long count() {
+        return count;
+    }
+
+    long blankCount() {
+        return blankCount;
+    }
+
+    long errorCount() {
+        return errorCount;
+    }
+
+    long presentCount() {
+        return count - blankCount - errorCount;
+    }
+
+    /**
+     * @return smallest present value or {@code null} when there is none or values are not comparable
+     */
+    Value min() {
+        return min;
+    }
+
+    Value max() {
+        return max;
+    }
+
+    long distinctEstimate() {
+        return distinct.estimate();
+    }
+
+    /**
+     * @param rank between 0 and 1, e.g. 0.5 for median
+     * @return approximate value at rank, dates as epoch day; empty for other kinds or when no value is present
+     */
+    OptionalDouble quantile(double rank) {
+        return quantiles == null ? OptionalDouble.empty() : quantiles.quantile(rank);
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnStatistics[" + columnDefinition.getKind() + ", count=" + count + ", blanks=" + blankCount +
+               ", errors=" + errorCount + ", min=" + min + ", max=" + max + ", distinct~" + distinctEstimate() + ']';
+    }
+
+    private static double numeric(Value value) {
+        return switch (value) {
+            case IntegerValue(var number) -> number;
+            case DoubleValue(var number) -> number;
+            case CurrencyValue(var amount) -> amount.doubleValue();
+            case DateValue(var date) -> date.toEpochDay();
+            default -> throw new IllegalStateException("Not a numeric value: " + value);
+        };
+    }
+
+    /**
+     * Values of one column share their type, so only pairs of the same type are compared.
+     */
+    private static int compare(Value left, Value right) {
+        return switch (left) {
+            case IntegerValue(var l) when right instanceof IntegerValue(var r) -> Integer.compare(l, r);
+            case DoubleValue(var l) when right instanceof DoubleValue(var r) -> Double.compare(l, r);
+            case DateValue(var l) when right instanceof DateValue(var r) -> l.compareTo(r);
+            case CurrencyValue(var l) when right instanceof CurrencyValue(var r) -> l.compareTo(r);
+            case StringValue(var l) when right instanceof StringValue(var r) -> l.compareTo(r);
+            case BooleanValue(var l) when right instanceof BooleanValue(var r) -> Boolean.compare(l, r);
+            case EnumValue<?>(var l) when right instanceof EnumValue<?>(var r) -> Integer.compare(l.ordinal(), r.ordinal());
+            default -> 0;
+        };
+    }
+
+    private static long hash(Value value) {
+        return HyperLogLog.mix(switch (value) {
+            case IntegerValue(var number) -> number;
+            case DoubleValue(var number) -> Double.doubleToLongBits(number == 0 ? 0 : number);
+            case DateValue(var date) -> date.toEpochDay();
+            case CurrencyValue(var amount) -> HyperLogLog.hash(amount.stripTrailingZeros().toPlainString());
+            case StringValue(var text) -> HyperLogLog.hash(text);
+            case BooleanValue(var flag) -> flag ? 1 : 0;
+            case EnumValue<?>(var constant) -> constant.ordinal();
+            default -> value.hashCode();
+        });
+    }
+}
+
+/**
+ * HyperLogLog distinct counter with 2^12 one-byte registers: about 1.6% standard error in 4 KB.
+ */
+final class HyperLogLog {
+    private static final int PRECISION = 12;
+    private static final int REGISTERS = 1 << PRECISION;
+
+    private final byte[] registers = new byte[REGISTERS];
+
+    /**
+     * @param hash well mixed 64-bit hash, see {@link #mix(long)}
+     */
+    void add(long hash) {
+        int register = (int) (hash >>> (64 - PRECISION));
+        byte rank = (byte) (Long.numberOfLeadingZeros(hash << PRECISION | 1L << (PRECISION - 1)) + 1);
+        if (rank > registers[register]) registers[register] = rank;
+    }
+
+    void merge(HyperLogLog other) {
+        for (int i = 0; i < REGISTERS; i++)
+            if (other.registers[i] > registers[i]) registers[i] = other.registers[i];
+    }
+
+    long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += Math.scalb(1.0, -register);
+            if (register == 0) zeros++;
+        }
+        double alpha = 0.7213 / (1 + 1.079 / REGISTERS);
+        double estimate = alpha * REGISTERS * REGISTERS / sum;
+        if (estimate <= 2.5 * REGISTERS && zeros > 0)
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros); // linear counting for small cardinalities
+        return Math.round(estimate);
+    }
+
+    /**
+     * MurmurHash3 finalizer, spreads any 64-bit key over all bits.
+     */
+    static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    /**
+     * 64-bit FNV-1a over the characters; {@link String#hashCode()} has too few bits for large cardinalities.
+     */
+    static long hash(String text) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
+
+/**
+ * Mergeable quantile sketch in the style of KLL: level {@code h} holds up to {@code k} items of weight 2^h, and a full
+ * level is sorted and every other item is promoted to the next level. Rank error stays around
+ * {@code log2(n / k) / k}, with memory of {@code k} doubles per level.
+ */
+final class QuantileSketch {
+    static final int DEFAULT_K = 256;
+
+    private final int k;
+    private final List<double[]> levels = new ArrayList<>();
+    private final List<Integer> sizes = new ArrayList<>();
+    private long count;
+    private int compactions;
+
+    QuantileSketch(int k) {
+        if (k < 2) throw new IllegalArgumentException("k must be at least 2");
+        this.k = k;
+    }
+
+    void add(double value) {
+        if (Double.isNaN(value)) return;
+        count++;
+        append(0, value);
+    }
+
+    void merge(QuantileSketch other) {
+        count += other.count;
+        for (int level = 0; level < other.levels.size(); level++) {
+            var items = other.levels.get(level);
+            for (int i = 0; i < other.sizes.get(level); i++) append(level, items[i]);
+        }
+    }
+
+    long count() {
+        return count;
+    }
+
+    OptionalDouble quantile(double rank) {
+        if (rank < 0 || rank > 1) throw new IllegalArgumentException("rank must be between 0 and 1");
+        if (count == 0) return OptionalDouble.empty();
+
+        int total = 0;
+        for (int size : sizes) total += size;
+        var values = new double[total];
+        var weights = new long[total];
+        int n = 0;
+        long weightSum = 0;
+        for (int level = 0; level < levels.size(); level++) {
+            for (int i = 0; i < sizes.get(level); i++) {
+                values[n] = levels.get(level)[i];
+                weights[n++] = 1L << level;
+                weightSum += 1L << level;
+            }
+        }
+
+        var order = new Integer[total];
+        for (int i = 0; i < total; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+
+        double target = rank * weightSum;
+        long cumulative = 0;
+        for (int index : order) {
+            cumulative += weights[index];
+            if (cumulative >= target) return OptionalDouble.of(values[index]);
+        }
+        return OptionalDouble.of(values[order[total - 1]]);
+    }
+
+    private void append(int level, double value) {
+        while (levels.size() <= level) {
+            levels.add(new double[k]);
+            sizes.add(0);
+        }
+        int size = sizes.get(level);
+        levels.get(level)[size++] = value;
+        sizes.set(level, size);
+        if (size == k) compact(level);
+    }
+
+    /**
+     * Keeps items at odd or even sorted positions, alternating between compactions so that rounding does not drift.
+     */
+    private void compact(int level) {
+        var items = levels.get(level);
+        int size = sizes.get(level);
+        Arrays.sort(items, 0, size);
+        int offset = compactions++ & 1;
+        int promoted = size - (size & 1);
+        double leftover = items[size - 1];
+        sizes.set(level, 0);
+        for (int i = offset; i < promoted; i += 2) append(level + 1, items[i]);
+        if ((size & 1) == 1) append(level, leftover);
+    }
+}
@@ -0,0 +1,593 @@
+package org.example;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Column oriented alternative to {@code List<List<Value>>}: every column keeps its values in a primitive (or plain
+ * object) array and marks blank and error cells in bitmaps, so no {@link Value} is retained per cell.
+ */
+final class ColumnarBatch {
+    private final RowConverter converter;
+    private final ColumnVector[] columns;
+    private int rowCount;
+
+    private ColumnarBatch(List<? extends ColumnDefinition<?>> columnDefinitions, int expectedRows) {
+        this.converter = RowConverter.compile(columnDefinitions);
+        this.columns = new ColumnVector[columnDefinitions.size()];
+        for (int i = 0; i < columns.length; i++)
+            columns[i] = ColumnVector.forKind(columnDefinitions.get(i).getKind(), expectedRows);
+    }
+
+    static ColumnarBatch of(List<? extends ColumnDefinition<?>> columnDefinitions) {
+        return new ColumnarBatch(columnDefinitions, 16);
+    }
+
+    static ColumnarBatch of(List<? extends ColumnDefinition<?>> columnDefinitions, int expectedRows) {
+        return new ColumnarBatch(columnDefinitions, expectedRows);
+    }
+
+    static ColumnarBatch from(List<ParsedRow> parsedRows, List<? extends ColumnDefinition<?>> columnDefinitions) {
+        var batch = new ColumnarBatch(columnDefinitions, parsedRows.size());
+        parsedRows.forEach(batch::append);
+        return batch;
+    }
+
+    /**
+     * Rows already converted with the same column definitions, e.g. {@link IngestedSheet#rows()}.
+     */
+    static ColumnarBatch fromValues(List<? extends List<? extends Value>> rows, List<? extends ColumnDefinition<?>> columnDefinitions) {
+        var batch = new ColumnarBatch(columnDefinitions, rows.size());
+        rows.forEach(batch::appendValues);
+        return batch;
+    }
+
+    void appendValues(List<? extends Value> values) {
+        if (values.size() != columns.length) throw new IllegalStateException("Meta size do not match");
+
+        for (int i = 0; i < columns.length; i++)
+            columns[i].append(values.get(i));
+        rowCount++;
+    }
+
+    void append(ParsedRow parsedRow) {
+        var cellValues = parsedRow.cellValues();
+
+        if (cellValues.size() != columns.length) throw new IllegalStateException("Meta size do not match");
+
+        long start = IngestionMetrics.start();
+        for (int i = 0; i < columns.length; i++) {
+            var value = converter.parser(i).parse(cellValues.get(i));
+            IngestionMetrics.converted(converter.kind(i), value);
+            columns[i].append(value);
+        }
+        rowCount++;
+        IngestionMetrics.stop(IngestionMetrics.Phase.CONVERT, start);
+    }
+
+    int rowCount() {
+        return rowCount;
+    }
+
+    int columnCount() {
+        return columns.length;
+    }
+
+    ColumnDefinition<?> columnDefinition(int column) {
+        return converter.columnDefinitions().get(column);
+    }
+
+    ColumnVector column(int column) {
+        return columns[column];
+    }
+
+    @SuppressWarnings("unchecked")
+    <T extends ColumnVector> T column(int column, Class<T> vectorType) {
+        if (!vectorType.isInstance(columns[column]))
+            throw new IllegalArgumentException("Column " + column + " is " + columns[column].getClass().getSimpleName() + ", not " + vectorType.getSimpleName());
+        return (T) columns[column];
+    }
+
+    List<Value> row(int row) {
+        Objects.checkIndex(row, rowCount);
+        var result = new ArrayList<Value>(columns.length);
+        for (var column : columns)
+            result.add(column.get(row));
+        return result;
+    }
+
+    List<List<Value>> toRows() {
+        var result = new ArrayList<List<Value>>(rowCount);
+        for (int row = 0; row < rowCount; row++)
+            result.add(row(row));
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnarBatch[rows=" + rowCount + ", columns=" + converter.columnDefinitions() + ']';
+    }
+}
+
+/**
+ * Values are stored in a backing array that is valid up to {@link #size()}; blank and error rows keep a default value.
+ */
+sealed abstract class ColumnVector permits
+        BooleanColumnVector, CurrencyColumnVector, CustomColumnVector, DateColumnVector, DoubleColumnVector,
+        EmptyColumnVector, EnumColumnVector, IntegerColumnVector, StringColumnVector {
+    private final BitSet blanks = new BitSet();
+    private final BitSet errors = new BitSet();
+    private final Map<Integer, ErrorDetail> errorDetails = new HashMap<>();
+    protected int size;
+
+    static ColumnVector forKind(ColumnDefinitionKind kind, int expectedRows) {
+        int capacity = Math.max(expectedRows, 1);
+        return switch (kind) {
+            case BOOLEAN -> new BooleanColumnVector();
+            case EMPTY -> new EmptyColumnVector();
+            case INTEGER -> new IntegerColumnVector(capacity);
+            case CURRENCY -> new CurrencyColumnVector(capacity);
+            case DATE -> new DateColumnVector(capacity);
+            case DOUBLE -> new DoubleColumnVector(capacity);
+            case STRING -> new StringColumnVector(capacity);
+            case CUSTOM -> new CustomColumnVector(capacity);
+            case ENUM -> new EnumColumnVector(capacity);
+        };
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isBlank(int row) {
+        return blanks.get(row);
+    }
+
+    boolean isError(int row) {
+        return errors.get(row);
+    }
+
+    boolean isPresent(int row) {
+        return !blanks.get(row) && !errors.get(row);
+    }
+
+    String errorMessage(int row) {
+        var detail = errorDetails.get(row);
+        return detail != null ? detail.message() : null;
+    }
+
+    ErrorDetail errorDetail(int row) {
+        return errorDetails.get(row);
+    }
+
+    /**
+     * Returned bitmaps are live views of the column state and must not be modified.
+     */
+    BitSet blanks() {
+        return blanks;
+    }
+
+    BitSet errors() {
+        return errors;
+    }
+
+    int blankCount() {
+        return blanks.cardinality();
+    }
+
+    int errorCount() {
+        return errors.cardinality();
+    }
+
+    final void append(Value value) {
+        ensureCapacity(size + 1);
+        switch (value) {
+            case Blank ignored -> blanks.set(size);
+            case ErrorValue error -> {
+                errors.set(size);
+                errorDetails.put(size, error.error());
+            }
+            default -> set(size, value);
+        }
+        size++;
+    }
+
+    final Value get(int row) {
+        Objects.checkIndex(row, size);
+        if (blanks.get(row)) return blank();
+        if (errors.get(row)) return error(errorDetails.get(row));
+        return value(row);
+    }
+
+    protected abstract void ensureCapacity(int capacity);
+
+    protected abstract void set(int row, Value value);
+
+    protected abstract Value value(int row);
+
+    protected abstract Value blank();
+
+    protected abstract Value error(ErrorDetail error);
+
+    protected static int grow(int currentLength, int capacity) {
+        return Math.max(capacity, currentLength + (currentLength >> 1) + 1);
+    }
+}
+
+final class EmptyColumnVector extends ColumnVector {
+    @Override
+    protected void ensureCapacity(int capacity) {
+    }
+
+    @Override
+    protected void set(int row, Value value) {
+        throw new IllegalStateException("Empty column cannot hold " + value);
+    }
+
+    @Override
+    protected Value value(int row) {
+        return SimplyBlank.INSTANCE;
+    }
+
+    @Override
+    protected Value blank() {
+        return SimplyBlank.INSTANCE;
+    }
+
+    @Override
+    protected Value error(ErrorDetail error) {
+        throw new IllegalStateException("Empty column cannot hold error: " + error);
+    }
+}
+
+final class BooleanColumnVector extends ColumnVector {
+    private final BitSet values = new BitSet();
+
+    boolean getBoolean(int row) {
+        return values.get(row);
+    }
+
+    BitSet values() {
+        return values;
+    }
+
+    @Override
+    protected void ensureCapacity(int capacity) {
+    }
+
+    @Override
+    protected void set(int row, Value value) {
+        if (!(value instanceof BooleanValue(var b))) throw new IllegalArgumentException("Not a boolean value: " + value);
+        values.set(row, b);
+    }
+
+    @Override
+    protected Value value(int row) {
+        return BooleanValue.of(values.get(row));
+    }
+
+    @Override
+    protected Value blank() {
+        return BooleanValueBlank.INSTANCE;
+    }
+
+    @Override
+    protected Value error(ErrorDetail error) {
+        return new BooleanValueError(error);
+    }
+}
+
+final class IntegerColumnVector extends ColumnVector {
+    private int[] values;
+
+    IntegerColumnVector(int capacity) {
+        values = new int[capacity];
+    }
+
+    int getInt(int row) {
+        return values[row];
+    }
+
+    int[] values() {
+        return values;
+    }
+
+    @Override
+    protected void ensureCapacity(int capacity) {
+        if (capacity > values.length) values = Arrays.copyOf(values, grow(values.length, capacity));
+    }
+
+    @Override
+    protected void set(int row, Value value) {
+        if (!(value instanceof IntegerValue(var i))) throw new IllegalArgumentException("Not an integer value: " + value);
+        values[row] = i;
+    }
+
+    @Override
+    protected Value value(int row) {
+        return IntegerValue.of(values[row]);
+    }
+
+    @Override
+    protected Value blank() {
+        return IntegerValueBlank.INSTANCE;
+    }
+
+    @Override
+    protected Value error(ErrorDetail error) {
+        return new IntegerValueError(error);
+    }
+}
+
+final class DoubleColumnVector extends ColumnVector {
+    private double[] values;
+
+    DoubleColumnVector(int capacity) {
+        values = new double[capacity];
+    }
+
+    double getDouble(int row) {
+        return values[row];
+    }
+
+    double[] values() {
+        return values;
+    }
+
+    @Override
+    protected void ensureCapacity(int capacity) {
+        if (capacity > values.length) values = Arrays.copyOf(values, grow(values.length, capacity));
+    }
+
+    @Override
+    protected void set(int row, Value value) {
+        if (!(value instanceof DoubleValue(var d))) throw new IllegalArgumentException("Not a double value: " + value);
+        values[row] = d;
+    }
+
+    @Override
+    protected Value value(int row) {
+        return new DoubleValue(values[row]);
+    }
+
+    @Override
+    protected Value blank() {
+        return DoubleValueBlank.INSTANCE;
+    }
+
+    @Override
+    protected Value error(ErrorDetail error) {
+        return new DoubleValueError(error);
+    }
+}
+
+final class DateColumnVector extends ColumnVector {
+    private long[] epochDays;
+
+    DateColumnVector(int capacity) {
+        epochDays = new long[capacity];
+    }
+
+    long getEpochDay(int row) {
+        return epochDays[row];
+    }
+
+    LocalDate getDate(int row) {
+        return LocalDate.ofEpochDay(epochDays[row]);
+    }
+
+    long[] epochDays() {
+        return epochDays;
+    }
+
+    @Override
+    protected void ensureCapacity(int capacity) {
+        if (capacity > epochDays.length) epochDays = Arrays.copyOf(epochDays, grow(epochDays.length, capacity));
+    }
+
+    @Override
+    protected void set(int row, Value value) {
+        if (!(value instanceof DateValue(var date))) throw new IllegalArgumentException("Not a date value: " + value);
+        epochDays[row] = date.toEpochDay();
+    }
+
+    @Override
+    protected Value value(int row) {
+        return new DateValue(LocalDate.ofEpochDay(epochDays[row]));
+    }
+
+    @Override
+    protected Value blank() {
+        return DateValueBlank.INSTANCE;
+    }
+
+    @Override
+    protected Value error(ErrorDetail error) {
+        return new DateValueError(error);
+    }
+}
+
+final class CurrencyColumnVector extends ColumnVector {
+    private BigDecimal[] values;
+
+    CurrencyColumnVector(int capacity) {
+        values = new BigDecimal[capacity];
+    }
+
+    BigDecimal getDecimal(int row) {
+        return values[row];
+    }
+
+    BigDecimal[] values() {
+        return values;
+    }
+
+    @Override
+    protected void ensureCapacity(int capacity) {
+        if (capacity > values.length) values = Arrays.copyOf(values, grow(values.length, capacity));
+    }
+
+    @Override
+    protected void set(int row, Value value) {
+        if (!(value instanceof CurrencyValue(var decimal))) throw new IllegalArgumentException("Not a currency value: " + value);
+        values[row] = decimal;
+    }
+
+    @Override
+    protected Value value(int row) {
+        return new CurrencyValue(values[row]);
+    }
+
+    @Override
+    protected Value blank() {
+        return CurrencyValueBlank.INSTANCE;
+    }
+
+    @Override
+    protected Value error(ErrorDetail error) {
+        return new CurrencyValueError(error);
+    }
+}
+
+/**
+ * Dictionary encoded: every row keeps an int code into the column dictionary of distinct strings.
+ */
+final class StringColumnVector extends ColumnVector {
+    private int[] codes;
+    private final List<String> dictionary = new ArrayList<>();
+    private final Map<String, Integer> dictionaryCodes = new HashMap<>();
+
+    StringColumnVector(int capacity) {
+        codes = new int[capacity];
+    }
+
+    String getString(int row) {
+        return dictionary.get(codes[row]);
+    }
+
+    int getCode(int row) {
+        return codes[row];
+    }
+
+    int[] codes() {
+        return codes;
+    }
+
+    List<String> dictionary() {
+        return Collections.unmodifiableList(dictionary);
+    }
+
+    @Override
+    protected void ensureCapacity(int capacity) {
+        if (capacity > codes.length) codes = Arrays.copyOf(codes, grow(codes.length, capacity));
+    }
+
+    @Override
+    protected void set(int row, Value value) {
+        if (!(value instanceof StringValue(var text))) throw new IllegalArgumentException("Not a string value: " + value);
+        codes[row] = dictionaryCodes.computeIfAbsent(text, t -> {
+            dictionary.add(t);
+            return dictionary.size() - 1;
+        });
+    }
+
+    @Override
+    protected Value value(int row) {
+        return new StringValue(dictionary.get(codes[row]));
+    }
+
+    @Override
+    protected Value blank() {
+        return StringValueBlank.INSTANCE;
+    }
+
+    @Override
+    protected Value error(ErrorDetail error) {
+        return new StringValueError(error);
+    }
+}
+
+final class EnumColumnVector extends ColumnVector {
+    private Enum<?>[] values;
+
+    EnumColumnVector(int capacity) {
+        values = new Enum<?>[capacity];
+    }
+
+    Enum<?> getEnum(int row) {
+        return values[row];
+    }
+
+    Enum<?>[] values() {
+        return values;
+    }
+
+    @Override
+    protected void ensureCapacity(int capacity) {
+        if (capacity > values.length) values = Arrays.copyOf(values, grow(values.length, capacity));
+    }
+
+    @Override
+    protected void set(int row, Value value) {
+        if (!(value instanceof EnumValue<?>(var enumValue))) throw new IllegalArgumentException("Not an enum value: " + value);
+        values[row] = enumValue;
+    }
+
+    @Override
+    protected Value value(int row) {
+        return new EnumValue<>(values[row]);
+    }
+
+    @Override
+    protected Value blank() {
+        return EnumValueBlank.INSTANCE;
+    }
+
+    @Override
+    protected Value error(ErrorDetail error) {
+        return new EnumValueError(error);
+    }
+}
+
+final class CustomColumnVector extends ColumnVector {
+    private Object[] values;
+
+    CustomColumnVector(int capacity) {
+        values = new Object[capacity];
+    }
+
+    Object getCustom(int row) {
+        return values[row];
+    }
+
+    Object[] values() {
+        return values;
+    }
+
+    @Override
+    protected void ensureCapacity(int capacity) {
+        if (capacity > values.length) values = Arrays.copyOf(values, grow(values.length, capacity));
+    }
+
+    @Override
+    protected void set(int row, Value value) {
+        if (!(value instanceof CustomValue<?>(var custom))) throw new IllegalArgumentException("Not a custom value: " + value);
+        values[row] = custom;
+    }
+
+    @Override
+    protected Value value(int row) {
+        return new CustomValue<>(values[row]);
+    }
+
+    @Override
+    protected Value blank() {
+        return CustomValueBlank.INSTANCE;
+    }
+
+    @Override
+    protected Value error(ErrorDetail error) {
+        return new CustomValueError(error);
+    }
+}
@@ -0,0 +1,545 @@
+package org.example;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Binary columnar snapshot of converted rows. File layout (little endian):
+ * <pre>
+ * header    magic, version, row count, column count, column definitions as JSON
+ * columns   per column: blank bitmap, error bitmap, data, dictionary, error entries
+ * directory per column: kind and section offsets
+ * footer    directory offset
+ * </pre>
+ * Data is primitive per {@link ColumnDefinitionKind}: ints, doubles, epoch days, bitmaps for booleans; strings,
+ * currencies and enum names are dictionary encoded. {@link #open(Path)} memory-maps every column section and decodes
+ * values only when they are read, so opening takes the same time whatever the snapshot size.
+ */
+final class ColumnarSnapshot {
+    private static final int MAGIC = 0x58435331; // "XCS1"
+    private static final int VERSION = 1;
+    private static final int SECTION_OFFSETS = 6;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<List<ColumnDefinition<?>>> SCHEMA_TYPE = new TypeReference<>() {
+    };
+
+    private final int rowCount;
+    private final List<SnapshotColumn> columns;
+
+    private ColumnarSnapshot(int rowCount, List<SnapshotColumn> columns) {
+        this.rowCount = rowCount;
+        this.columns = columns;
+    }
+
+    /**
+     * Snapshot is written to a temporary file and moved in place, so a failed write keeps the previous file.
+     *
+     * @throws IllegalStateException when a custom column holds a type without binary encoding
+     */
+    static void write(Path file, ColumnarBatch batch) throws IOException {
+        var temporary = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            writeTo(temporary, batch);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private static void writeTo(Path file, ColumnarBatch batch) throws IOException {
+        var columnDefinitions = new ArrayList<ColumnDefinition<?>>();
+        for (int c = 0; c < batch.columnCount(); c++) columnDefinitions.add(batch.columnDefinition(c));
+
+        try (var channel = FileChannel.open(file, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            var out = new SnapshotWriter(channel);
+            out.putInt(MAGIC);
+            out.putInt(VERSION);
+            out.putInt(batch.rowCount());
+            out.putInt(batch.columnCount());
+            out.putString(MAPPER.writerFor(SCHEMA_TYPE).writeValueAsString(columnDefinitions));
+
+            var sections = new long[batch.columnCount()][];
+            for (int c = 0; c < sections.length; c++)
+                sections[c] = writeColumn(out, batch.column(c), batch.rowCount());
+
+            long directory = out.position();
+            for (int c = 0; c < sections.length; c++) {
+                out.putString(columnDefinitions.get(c).getKind().name());
+                for (long offset : sections[c]) out.putLong(offset);
+            }
+            out.putLong(directory);
+            out.flush();
+        }
+    }
+
+    static void write(Path file, List<? extends ColumnDefinition<?>> columnDefinitions, List<? extends List<? extends Value>> rows) throws IOException {
+        write(file, ColumnarBatch.fromValues(rows, columnDefinitions));
+    }
+
+    static ColumnarSnapshot open(Path file) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 24) throw new IOException("Not a columnar snapshot: " + file);
+
+            var header = read(channel, 0, 16);
+            if (header.getInt() != MAGIC) throw new IOException("Not a columnar snapshot: " + file);
+            int version = header.getInt();
+            if (version != VERSION) throw new IOException("Unsupported snapshot version " + version + ": " + file);
+            int rowCount = header.getInt();
+            int columnCount = header.getInt();
+            int schemaLength = read(channel, 16, 4).getInt();
+            var schema = StandardCharsets.UTF_8.decode(read(channel, 20, schemaLength)).toString();
+            List<ColumnDefinition<?>> columnDefinitions = MAPPER.readValue(schema, SCHEMA_TYPE);
+            if (columnDefinitions.size() != columnCount) throw new IOException("Damaged snapshot header: " + file);
+
+            long directoryOffset = read(channel, size - 8, 8).getLong();
+            if (directoryOffset < 20 || directoryOffset > size - 8) throw new IOException("Damaged snapshot directory: " + file);
+            var directory = read(channel, directoryOffset, (int) (size - 8 - directoryOffset));
+
+            var columns = new ArrayList<SnapshotColumn>(columnCount);
+            for (var columnDefinition : columnDefinitions) {
+                var kind = new String(readBytes(directory), StandardCharsets.UTF_8);
+                if (!kind.equals(columnDefinition.getKind().name())) throw new IOException("Damaged snapshot directory: " + file);
+
+                var offsets = new long[SECTION_OFFSETS];
+                for (int i = 0; i < offsets.length; i++) offsets[i] = directory.getLong();
+                long start = offsets[0], end = offsets[SECTION_OFFSETS - 1];
+                if (start < 0 || end > directoryOffset || end - start > Integer.MAX_VALUE)
+                    throw new IOException("Damaged snapshot directory: " + file);
+
+                var section = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start).order(ByteOrder.LITTLE_ENDIAN);
+                columns.add(new SnapshotColumn(columnDefinition, rowCount, section,
+                        (int) (offsets[1] - start), (int) (offsets[2] - start), (int) (offsets[3] - start), (int) (offsets[4] - start)));
+            }
+            return new ColumnarSnapshot(rowCount, List.copyOf(columns));
+        }
+    }
+
+    int rowCount() {
+        return rowCount;
+    }
+
+    int columnCount() {
+        return columns.size();
+    }
+
+    ColumnDefinition<?> columnDefinition(int column) {
+        return columns.get(column).columnDefinition();
+    }
+
+    SnapshotColumn column(int column) {
+        return columns.get(column);
+    }
+
+    List<Value> row(int row) {
+        Objects.checkIndex(row, rowCount);
+        var result = new ArrayList<Value>(columns.size());
+        for (var column : columns)
+            result.add(column.get(row));
+        return result;
+    }
+
+    List<List<Value>> toRows() {
+        var result = new ArrayList<List<Value>>(rowCount);
+        for (int row = 0; row < rowCount; row++)
+            result.add(row(row));
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnarSnapshot[rows=" + rowCount + ", columns=" + columns.stream().map(SnapshotColumn::columnDefinition).toList() + ']';
+    }
+
+    /**
+     * @return offsets of blank bitmap, error bitmap, data, dictionary, error entries and section end
+     */
+    private static long[] writeColumn(SnapshotWriter out, ColumnVector vector, int rowCount) throws IOException {
+        long blanks = out.position();
+        out.putBitmap(vector.blanks(), rowCount);
+        long errors = out.position();
+        out.putBitmap(vector.errors(), rowCount);
+        long data = out.position();
+        List<String> dictionary = null;
+
+        switch (vector) {
+            case EmptyColumnVector ignored -> {
+            }
+            case BooleanColumnVector booleans -> out.putBitmap(booleans.values(), rowCount);
+            case IntegerColumnVector integers -> {
+                var values = integers.values();
+                for (int row = 0; row < rowCount; row++) out.putInt(values[row]);
+            }
+            case DoubleColumnVector doubles -> {
+                var values = doubles.values();
+                for (int row = 0; row < rowCount; row++) out.putDouble(values[row]);
+            }
+            case DateColumnVector dates -> {
+                var epochDays = dates.epochDays();
+                for (int row = 0; row < rowCount; row++) out.putLong(epochDays[row]);
+            }
+            case StringColumnVector strings -> {
+                var codes = strings.codes();
+                for (int row = 0; row < rowCount; row++) out.putInt(strings.isPresent(row) ? codes[row] : -1);
+                dictionary = strings.dictionary();
+            }
+            case CurrencyColumnVector currencies -> dictionary = putDictionaryCodes(out, currencies.values(), rowCount, BigDecimal::toString);
+            case EnumColumnVector enums -> dictionary = putDictionaryCodes(out, enums.values(), rowCount, Enum::name);
+            case CustomColumnVector customs -> {
+                var values = customs.values();
+                var mkt = new BitSet();
+                for (int row = 0; row < rowCount; row++) {
+                    if (values[row] == null) continue;
+                    if (!(values[row] instanceof Price price)) throw ColumnDefinitionCommons.notSupported(values[row].getClass());
+                    mkt.set(row, price.isMkt());
+                }
+                out.putBitmap(mkt, rowCount);
+                for (int row = 0; row < rowCount; row++)
+                    out.putDouble(values[row] instanceof Price price && price.isNumber() && price.getNumber() != null ? price.getNumber() : Double.NaN);
+            }
+        }
+
+        long dictionaryOffset = out.position();
+        if (dictionary != null) out.putDictionary(dictionary);
+
+        long errorEntries = out.position();
+        var errorRows = vector.errors();
+        out.putInt(errorRows.cardinality());
+        for (int row = errorRows.nextSetBit(0); row >= 0; row = errorRows.nextSetBit(row + 1)) {
+            var error = vector.errorDetail(row);
+            out.putInt(row);
+            out.putString(error.code().name());
+            out.putString(error.message());
+        }
+        return new long[]{blanks, errors, data, dictionaryOffset, errorEntries, out.position()};
+    }
+
+    private static <T> List<String> putDictionaryCodes(SnapshotWriter out, T[] values, int rowCount,
+                                                       java.util.function.Function<T, String> toText) throws IOException {
+        var dictionary = new ArrayList<String>();
+        var codes = new HashMap<String, Integer>();
+        for (int row = 0; row < rowCount; row++) {
+            if (values[row] == null) {
+                out.putInt(-1);
+                continue;
+            }
+            out.putInt(codes.computeIfAbsent(toText.apply(values[row]), text -> {
+                dictionary.add(text);
+                return dictionary.size() - 1;
+            }));
+        }
+        return dictionary;
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        if (length < 0 || position + length > channel.size()) throw new IOException("Damaged snapshot");
+        var buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining())
+            if (channel.read(buffer, position + buffer.position()) < 0) throw new IOException("Unexpected end of snapshot");
+        return buffer.flip();
+    }
+
+    private static byte[] readBytes(ByteBuffer buffer) {
+        var bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Buffered little endian writer that tracks the absolute file position.
+     */
+    private static final class SnapshotWriter {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+        private long position;
+
+        SnapshotWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        long position() {
+            return position;
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(Integer.BYTES).putInt(value);
+            position += Integer.BYTES;
+        }
+
+        void putLong(long value) throws IOException {
+            ensure(Long.BYTES).putLong(value);
+            position += Long.BYTES;
+        }
+
+        void putDouble(double value) throws IOException {
+            ensure(Double.BYTES).putDouble(value);
+            position += Double.BYTES;
+        }
+
+        void putBytes(byte[] bytes) throws IOException {
+            if (bytes.length > buffer.remaining()) {
+                flush();
+                if (bytes.length > buffer.capacity()) {
+                    var wrapped = ByteBuffer.wrap(bytes);
+                    while (wrapped.hasRemaining()) channel.write(wrapped);
+                    position += bytes.length;
+                    return;
+                }
+            }
+            buffer.put(bytes);
+            position += bytes.length;
+        }
+
+        void putString(String text) throws IOException {
+            var bytes = text.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            putBytes(bytes);
+        }
+
+        /**
+         * Same word layout as {@link BitSet#toLongArray()}, padded to cover every row.
+         */
+        void putBitmap(BitSet bits, int rowCount) throws IOException {
+            var words = bits.toLongArray();
+            for (int i = 0; i < SnapshotColumn.words(rowCount); i++) putLong(i < words.length ? words[i] : 0);
+        }
+
+        /**
+         * Entry count, byte offsets of every entry plus end offset, then UTF-8 bytes of all entries.
+         */
+        void putDictionary(List<String> entries) throws IOException {
+            var encoded = new byte[entries.size()][];
+            putInt(entries.size());
+            int offset = 0;
+            for (int i = 0; i < encoded.length; i++) {
+                encoded[i] = entries.get(i).getBytes(StandardCharsets.UTF_8);
+                putInt(offset);
+                offset += encoded[i].length;
+            }
+            putInt(offset);
+            for (var bytes : encoded) putBytes(bytes);
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) channel.write(buffer);
+            buffer.clear();
+        }
+
+        private ByteBuffer ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) flush();
+            return buffer;
+        }
+    }
+}
+
+/**
+ * Column of a {@link ColumnarSnapshot} read straight from its memory-mapped section. Primitive accessors do not
+ * allocate; dictionary entries are decoded on first use and error details are loaded on first error lookup.
+ * Reads may happen from several threads: racing decoders produce equal immutable values, so a lost write is
+ * harmless, and error details are published through a volatile field.
+ */
+final class SnapshotColumn {
+    private final ColumnDefinition<?> columnDefinition;
+    private final ColumnDefinitionKind kind;
+    private final int rowCount;
+    private final ByteBuffer section;
+    private final int errorsAt;
+    private final int dataAt;
+    private final int dictionaryAt;
+    private final int errorEntriesAt;
+    private final Object[] decoded;
+    private volatile Map<Integer, ErrorDetail> errorDetails;
+
+    SnapshotColumn(ColumnDefinition<?> columnDefinition, int rowCount, ByteBuffer section,
+                   int errorsAt, int dataAt, int dictionaryAt, int errorEntriesAt) {
+        this.columnDefinition = columnDefinition;
+        this.kind = columnDefinition.getKind();
+        this.rowCount = rowCount;
+        this.section = section;
+        this.errorsAt = errorsAt;
+        this.dataAt = dataAt;
+        this.dictionaryAt = dictionaryAt;
+        this.errorEntriesAt = errorEntriesAt;
+        this.decoded = new Object[errorEntriesAt > dictionaryAt ? section.getInt(dictionaryAt) : 0];
+    }
+
+    static int words(int rowCount) {
+        return (rowCount + 63) >>> 6;
+    }
+
+    ColumnDefinition<?> columnDefinition() {
+        return columnDefinition;
+    }
+
+    int size() {
+        return rowCount;
+    }
+
+    boolean isBlank(int row) {
+        return bit(0, row);
+    }
+
+    boolean isError(int row) {
+        return bit(errorsAt, row);
+    }
+
+    boolean isPresent(int row) {
+        return !isBlank(row) && !isError(row);
+    }
+
+    boolean getBoolean(int row) {
+        return bit(dataAt, row);
+    }
+
+    int getInt(int row) {
+        return section.getInt(dataAt + row * Integer.BYTES);
+    }
+
+    double getDouble(int row) {
+        return section.getDouble(dataAt + row * Double.BYTES);
+    }
+
+    long getEpochDay(int row) {
+        return section.getLong(dataAt + row * Long.BYTES);
+    }
+
+    LocalDate getDate(int row) {
+        return LocalDate.ofEpochDay(getEpochDay(row));
+    }
+
+    /**
+     * Dictionary code of a string, currency or enum row; -1 for blank and error rows.
+     */
+    int getCode(int row) {
+        return section.getInt(dataAt + row * Integer.BYTES);
+    }
+
+    String getString(int row) {
+        return (String) entry(getCode(row));
+    }
+
+    int dictionarySize() {
+        return decoded.length;
+    }
+
+    ErrorDetail errorDetail(int row) {
+        return errorDetails().get(row);
+    }
+
+    Value get(int row) {
+        Objects.checkIndex(row, rowCount);
+        if (isBlank(row)) return blank();
+        if (isError(row)) return error(errorDetail(row));
+
+        return switch (kind) {
+            case EMPTY -> SimplyBlank.INSTANCE;
+            case BOOLEAN -> BooleanValue.of(getBoolean(row));
+            case INTEGER -> IntegerValue.of(getInt(row));
+            case DOUBLE -> new DoubleValue(getDouble(row));
+            case DATE -> new DateValue(getDate(row));
+            case STRING -> new StringValue(getString(row));
+            case CURRENCY -> new CurrencyValue((BigDecimal) entry(getCode(row)));
+            case ENUM -> new EnumValue<>((Enum<?>) entry(getCode(row)));
+            case CUSTOM -> new CustomValue<>(bit(dataAt, row)
+                    ? Price.mkt()
+                    : Price.of(section.getDouble(dataAt + words(rowCount) * Long.BYTES + row * Double.BYTES)));
+        };
+    }
+
+    private Value blank() {
+        return switch (kind) {
+            case EMPTY -> SimplyBlank.INSTANCE;
+            case BOOLEAN -> BooleanValueBlank.INSTANCE;
+            case INTEGER -> IntegerValueBlank.INSTANCE;
+            case DOUBLE -> DoubleValueBlank.INSTANCE;
+            case DATE -> DateValueBlank.INSTANCE;
+            case STRING -> StringValueBlank.INSTANCE;
+            case CURRENCY -> CurrencyValueBlank.INSTANCE;
+            case ENUM -> EnumValueBlank.INSTANCE;
+            case CUSTOM -> CustomValueBlank.INSTANCE;
+        };
+    }
+
+    private Value error(ErrorDetail error) {
+        return switch (kind) {
+            case EMPTY -> throw new IllegalStateException("Empty column cannot hold error: " + error);
+            case BOOLEAN -> new BooleanValueError(error);
+            case INTEGER -> new IntegerValueError(error);
+            case DOUBLE -> new DoubleValueError(error);
+            case DATE -> new DateValueError(error);
+            case STRING -> new StringValueError(error);
+            case CURRENCY -> new CurrencyValueError(error);
+            case ENUM -> new EnumValueError(error);
+            case CUSTOM -> new CustomValueError(error);
+        };
+    }
+
+    private boolean bit(int at, int row) {
+        Objects.checkIndex(row, rowCount);
+        return (section.getLong(at + (row >>> 6) * Long.BYTES) >>> (row & 63) & 1) != 0;
+    }
+
+    private Object entry(int code) {
+        var value = decoded[code];
+        if (value == null) decoded[code] = value = decode(code);
+        return value;
+    }
+
+    private Object decode(int code) {
+        int offsets = dictionaryAt + Integer.BYTES;
+        int start = section.getInt(offsets + code * Integer.BYTES);
+        int end = section.getInt(offsets + (code + 1) * Integer.BYTES);
+        var bytes = new byte[end - start];
+        section.get(offsets + (decoded.length + 1) * Integer.BYTES + start, bytes);
+        var text = new String(bytes, StandardCharsets.UTF_8);
+
+        return switch (kind) {
+            case CURRENCY -> new BigDecimal(text);
+            case ENUM -> enumConstant(text);
+            default -> text;
+        };
+    }
+
+    private Enum<?> enumConstant(String name) {
+        if (!(columnDefinition instanceof EnumColumnDefinition(var enumType)))
+            throw new IllegalStateException("Not an enum column: " + columnDefinition);
+        for (var constant : enumType.getEnumConstants())
+            if (constant.name().equals(name)) return constant;
+        throw new IllegalStateException(enumType.getSimpleName() + " has no constant " + name);
+    }
+
+    private Map<Integer, ErrorDetail> errorDetails() {
+        var result = errorDetails;
+        if (result == null) {
+            result = new HashMap<>();
+            var entries = section.duplicate().order(ByteOrder.LITTLE_ENDIAN).position(errorEntriesAt);
+            for (int count = entries.getInt(); count > 0; count--) {
+                int row = entries.getInt();
+                var code = ErrorCode.valueOf(string(entries));
+                result.put(row, ErrorDetail.restore(code, string(entries)));
+            }
+            errorDetails = result;
+        }
+        return result;
+    }
+
+    private static String string(ByteBuffer buffer) {
+        var bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,287 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * @param delimiter  field separator, e.g. {@code ','} or {@code '\t'}
+ * @param quote      encloses fields containing delimiters, quotes or line breaks; doubled inside a field to escape it
+ * @param typedCells when set, unquoted plain numbers and TRUE/FALSE become number and boolean cells; anything that could
+ *                   be read in more than one way (leading zeros, grouping, more than 15 digits, dates) stays text. Off in
+ *                   the presets: string columns would see a typed number re-rendered instead of the exact source text
+ */
+record CsvFormat(char delimiter, char quote, boolean typedCells) {
+    static final CsvFormat CSV = new CsvFormat(',', '"', false);
+    static final CsvFormat TSV = new CsvFormat('\t', '"', false);
+
+    CsvFormat {
+        if (delimiter > 127 || quote > 127 || delimiter == quote || isLineBreak(delimiter) || isLineBreak(quote))
+            throw new IllegalArgumentException("Delimiter and quote must be distinct ASCII characters other than line breaks");
+    }
+
+    CsvFormat withDelimiter(char delimiter) {
+        return new CsvFormat(delimiter, quote, typedCells);
+    }
+
+    CsvFormat withTypedCells(boolean typedCells) {
+        return new CsvFormat(delimiter, quote, typedCells);
+    }
+
+    private static boolean isLineBreak(char c) {
+        return c == '\n' || c == '\r';
+    }
+}
+
+/**
+ * Reads UTF-8 delimited text into the same {@link ParsedRow} model as the workbook readers, so rows can be converted
+ * with the usual column definitions. Input is tokenized byte by byte in a large reusable buffer and only field
+ * contents are decoded to strings. Lines without content are skipped like empty sheet rows.
+ */
+final class CsvReader {
+    static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+    private static final int INCOMPLETE = -1;
+    private static final int MAX_EXACT_DIGITS = 15;
+
+    private final CsvFormat format;
+    private final byte delimiter;
+    private final byte quote;
+    private byte[] buffer;
+    private int limit;
+    private boolean eof;
+    private byte[] scratch = new byte[256];
+    private final List<CellValue> cells = new ArrayList<>();
+
+    CsvReader(CsvFormat format, int bufferSize) {
+        this.format = format;
+        this.delimiter = (byte) format.delimiter();
+        this.quote = (byte) format.quote();
+        this.buffer = new byte[Math.max(bufferSize, 16)];
+    }
+
+    static void read(Path file, CsvFormat format, Consumer<ParsedRow> rowConsumer) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            new CsvReader(format, DEFAULT_BUFFER_SIZE).read(channel, rowConsumer);
+        }
+    }
+
+    static void read(InputStream inputStream, CsvFormat format, Consumer<ParsedRow> rowConsumer) throws IOException {
+        new CsvReader(format, DEFAULT_BUFFER_SIZE).read(Channels.newChannel(inputStream), rowConsumer);
+    }
+
+    static List<ParsedRow> readAll(Path file, CsvFormat format) throws IOException {
+        var rows = new ArrayList<ParsedRow>();
+        read(file, format, rows::add);
+        return rows;
+    }
+
+    void read(ReadableByteChannel source, Consumer<ParsedRow> rowConsumer) throws IOException {
+        long start = IngestionMetrics.start();
+        var event = new SheetReadEvent();
+        event.begin();
+        try {
+            readRecords(source, IngestionEvents.countingRows(event, IngestionMetrics.countingRows(rowConsumer)));
+        } finally {
+            IngestionMetrics.stop(IngestionMetrics.Phase.READ, start);
+            event.commit(null, format.delimiter() == '\t' ? "TSV" : "CSV");
+        }
+    }
+
+    private void readRecords(ReadableByteChannel source, Consumer<ParsedRow> rowConsumer) throws IOException {
+        limit = 0;
+        eof = false;
+        fill(source);
+        int position = hasByteOrderMark() ? 3 : 0;
+
+        while (true) {
+            if (position >= limit) {
+                if (eof) return;
+                position = refill(source, position);
+                continue;
+            }
+
+            int next = parseRecord(position);
+            if (next == INCOMPLETE) {
+                position = refill(source, position);
+                continue;
+            }
+
+            if (hasContent()) rowConsumer.accept(new ParsedRow(new ArrayList<>(cells)));
+            position = next;
+        }
+    }
+
+    /**
+     * @return index right after the record and its line break, or {@link #INCOMPLETE} when the buffer ends before it
+     */
+    private int parseRecord(int start) {
+        cells.clear();
+        int i = start;
+        while (true) {
+            if (i < limit && buffer[i] == quote) {
+                i = parseQuoted(i + 1);
+                if (i == INCOMPLETE) return INCOMPLETE;
+            } else {
+                int end = i;
+                while (end < limit && !isFieldEnd(buffer[end])) end++;
+                if (end >= limit && !eof) return INCOMPLETE;
+                cells.add(unquotedCell(i, end));
+                i = end;
+            }
+
+            if (i >= limit) return limit;
+
+            byte b = buffer[i];
+            if (b == delimiter) {
+                i++;
+            } else if (b == '\r') {
+                if (i + 1 < limit) return buffer[i + 1] == '\n' ? i + 2 : i + 1;
+                return eof ? limit : INCOMPLETE;
+            } else {
+                return i + 1;
+            }
+        }
+    }
+
+    /**
+     * Text after the closing quote up to the next delimiter is dropped; an unterminated quote runs to end of input.
+     */
+    private int parseQuoted(int start) {
+        int length = 0;
+        int i = start;
+        while (true) {
+            if (i >= limit) {
+                if (!eof) return INCOMPLETE;
+                break;
+            }
+            byte b = buffer[i];
+            if (b == quote) {
+                if (i + 1 >= limit && !eof) return INCOMPLETE;
+                if (i + 1 < limit && buffer[i + 1] == quote) {
+                    length = append(length, b);
+                    i += 2;
+                    continue;
+                }
+                i++;
+                break;
+            }
+            length = append(length, b);
+            i++;
+        }
+
+        while (i < limit && !isFieldEnd(buffer[i])) i++;
+        if (i >= limit && !eof) return INCOMPLETE;
+
+        cells.add(new StringCellValue(new String(scratch, 0, length, StandardCharsets.UTF_8)));
+        return i;
+    }
+
+    private int append(int length, byte b) {
+        if (length == scratch.length) scratch = Arrays.copyOf(scratch, length * 2);
+        scratch[length] = b;
+        return length + 1;
+    }
+
+    private CellValue unquotedCell(int from, int to) {
+        int length = to - from;
+        if (length == 0) return EmptyCellValue.INSTANCE;
+
+        if (format.typedCells()) {
+            if (isPlainNumber(from, to))
+                return new NumberCellValue(Double.parseDouble(new String(buffer, from, length, StandardCharsets.ISO_8859_1)));
+            if (length == 4 && matchesIgnoreCase(from, "true")) return BooleanCellValue.TRUE;
+            if (length == 5 && matchesIgnoreCase(from, "false")) return BooleanCellValue.FALSE;
+        }
+        return new StringCellValue(new String(buffer, from, length, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * {@code [+-]digits[.digits][(e|E)[+-]digits]} without superfluous leading zeros and with at most 15 digits,
+     * so the number is exactly what the text says.
+     */
+    private boolean isPlainNumber(int from, int to) {
+        int i = from;
+        if (buffer[i] == '-' || buffer[i] == '+') i++;
+
+        int integerStart = i;
+        while (i < to && isDigit(buffer[i])) i++;
+        int digits = i - integerStart;
+        if (digits == 0 || (digits > 1 && buffer[integerStart] == '0')) return false;
+
+        if (i < to && buffer[i] == '.') {
+            int fractionStart = ++i;
+            while (i < to && isDigit(buffer[i])) i++;
+            if (i == fractionStart) return false;
+            digits += i - fractionStart;
+        }
+        if (digits > MAX_EXACT_DIGITS) return false;
+
+        if (i < to && (buffer[i] == 'e' || buffer[i] == 'E')) {
+            i++;
+            if (i < to && (buffer[i] == '-' || buffer[i] == '+')) i++;
+            int exponentStart = i;
+            while (i < to && isDigit(buffer[i])) i++;
+            if (i == exponentStart || i - exponentStart > 3) return false;
+        }
+        return i == to;
+    }
+
+    private boolean matchesIgnoreCase(int from, String lowerCase) {
+        for (int i = 0; i < lowerCase.length(); i++)
+            if ((buffer[from + i] | 0x20) != lowerCase.charAt(i)) return false;
+        return true;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private boolean isFieldEnd(byte b) {
+        return b == delimiter || b == '\n' || b == '\r';
+    }
+
+    private boolean hasContent() {
+        for (var cell : cells)
+            if (!(cell instanceof EmptyCellValue) && !(cell instanceof StringCellValue(var text) && text.isEmpty()))
+                return true;
+        return false;
+    }
+
+    private boolean hasByteOrderMark() {
+        return limit >= 3 && buffer[0] == (byte) 0xEF && buffer[1] == (byte) 0xBB && buffer[2] == (byte) 0xBF;
+    }
+
+    /**
+     * Moves the unfinished record to the start of the buffer, growing it when the record alone fills it, and reads more.
+     */
+    private int refill(ReadableByteChannel source, int position) throws IOException {
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+        } else if (limit == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        fill(source);
+        return 0;
+    }
+
+    private void fill(ReadableByteChannel source) throws IOException {
+        int filled = limit;
+        while (!eof && limit < buffer.length) {
+            int read = source.read(ByteBuffer.wrap(buffer, limit, buffer.length - limit));
+            if (read < 0) eof = true;
+            else limit += read;
+        }
+        IngestionMetrics.bytesRead(limit - filled);
+    }
+}
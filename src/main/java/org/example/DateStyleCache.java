@@ -0,0 +1,97 @@
+package org.example;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.model.StylesTable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+
+/**
+ * Remembers per cell style index whether its number format is a date format, so the format string of a style is
+ * analysed once per workbook instead of once per numeric cell. Mirrors {@link DateUtil#isCellDateFormatted(Cell)}.
+ * Lookups may race from several threads; every thread computes the same answer, so a lost write is harmless.
+ */
+final class DateStyleCache {
+    private static final byte UNKNOWN = 0;
+    private static final byte DATE = 1;
+    private static final byte NOT_DATE = 2;
+    private static final int MAX_SHARED_FORMATS = 4096;
+    /**
+     * Answers of {@link DateUtil#isADateFormat(int, String)} shared by all workbooks of the process; workbooks mostly
+     * reuse the same few formats, so files after the first skip the format analysis.
+     */
+    private static final Map<String, Boolean> SHARED_FORMATS = new ConcurrentHashMap<>();
+
+    private final IntPredicate classifier;
+    private final byte[] states;
+
+    private DateStyleCache(IntPredicate classifier, int styleCount) {
+        this.classifier = classifier;
+        this.states = new byte[Math.max(styleCount, 0)];
+    }
+
+    static DateStyleCache of(Workbook workbook) {
+        return of(workbook::getCellStyleAt, workbook.getNumCellStyles());
+    }
+
+    static DateStyleCache of(StylesTable styles) {
+        return styles == null ? of(ignored -> null, 0) : of(styles::getStyleAt, styles.getNumCellStyles());
+    }
+
+    /**
+     * For styles known only by their number format index, as in .xls extended format records.
+     *
+     * @param formatIndexes number format index of every style
+     * @param formatStrings format string of a number format index, built-in or custom
+     */
+    static DateStyleCache of(int[] formatIndexes, IntFunction<String> formatStrings) {
+        return new DateStyleCache(styleIndex -> styleIndex < formatIndexes.length
+                && isADateFormat(formatIndexes[styleIndex], formatStrings.apply(formatIndexes[styleIndex])),
+                formatIndexes.length);
+    }
+
+    private static DateStyleCache of(IntFunction<? extends CellStyle> styleLookup, int styleCount) {
+        return new DateStyleCache(styleIndex -> {
+            var style = styleLookup.apply(styleIndex);
+            return style != null && isADateFormat(style.getDataFormat(), style.getDataFormatString());
+        }, styleCount);
+    }
+
+    static boolean isADateFormat(int formatIndex, String formatString) {
+        if (formatString == null) return DateUtil.isADateFormat(formatIndex, null);
+
+        var key = formatIndex + ":" + formatString;
+        var cached = SHARED_FORMATS.get(key);
+        if (cached != null) return cached;
+
+        boolean isDate = DateUtil.isADateFormat(formatIndex, formatString);
+        if (SHARED_FORMATS.size() < MAX_SHARED_FORMATS) SHARED_FORMATS.put(key, isDate);
+        return isDate;
+    }
+
+    boolean isDateFormatted(Cell cell) {
+        return cell != null && isDateFormatted(Short.toUnsignedInt(cell.getCellStyle().getIndex()), cell.getNumericCellValue());
+    }
+
+    boolean isDateFormatted(int styleIndex, double value) {
+        return DateUtil.isValidExcelDate(value) && isDateStyle(styleIndex);
+    }
+
+    boolean isDateStyle(int styleIndex) {
+        if (styleIndex < 0 || styleIndex >= states.length) return classify(styleIndex);
+
+        byte state = states[styleIndex];
+        if (state == UNKNOWN)
+            states[styleIndex] = state = classify(styleIndex) ? DATE : NOT_DATE;
+        return state == DATE;
+    }
+
+    private boolean classify(int styleIndex) {
+        return styleIndex >= 0 && classifier.test(styleIndex);
+    }
+}
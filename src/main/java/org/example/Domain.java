@@ -1,7 +1,7 @@
 package org.example;
 
 import java.text.NumberFormat;
-import java.text.ParseException;
+import java.text.ParsePosition;
 import java.util.Locale;
 
 enum Color {
@@ -77,18 +77,30 @@ final class Price {
         return new Price();
     }
 
+    private static final ThreadLocal<NumberFormat> NUMBER_FORMAT = ThreadLocal.withInitial(() -> NumberFormat.getNumberInstance(Locale.US));
+
     public static Price parse(String text) {
-        if (text == null || text.isEmpty())
-            throw new IllegalArgumentException("Input string cannot be null.");
+        return switch (tryParse(text)) {
+            case ParseResult.Success<Price>(var price) -> price;
+            case ParseResult.Failure<Price>(var reason) -> throw new IllegalArgumentException(
+                    text == null || text.isEmpty() ? reason : reason + " in: " + text);
+        };
+    }
 
-        if (containsOnlyConsecutiveMkt(text)) return mkt();
+    /**
+     * Same rules as {@link #parse(String)} without exceptions for invalid text.
+     */
+    public static ParseResult<Price> tryParse(String text) {
+        if (text == null || text.isEmpty())
+            return ParseResult.failure("Input string cannot be null.");
 
-        try {
-            return of(NumberFormat.getNumberInstance(Locale.US).parse(text).doubleValue());
+        if (containsOnlyConsecutiveMkt(text)) return ParseResult.success(mkt());
 
-        } catch (ParseException e) {
-            throw new IllegalArgumentException("Only MKT or valid number is allowed in: " + text, e);
-        }
+        var position = new ParsePosition(0);
+        var number = NUMBER_FORMAT.get().parse(text, position);
+        return number == null || position.getIndex() == 0
+                ? ParseResult.failure("Only MKT or valid number is allowed")
+                : ParseResult.success(of(number.doubleValue()));
     }
 
     private static boolean containsOnlyConsecutiveMkt(String str) {
@@ -0,0 +1,154 @@
+package org.example;
+
+/**
+ * Kinds of conversion and cell errors; each one knows how to turn raw inputs of {@link ErrorDetail} into a message.
+ */
+enum ErrorCode {
+    /** message given up front */
+    MESSAGE,
+    /** formula error text @ cell reference [: formula] */
+    CELL_ERROR,
+    UNKNOWN_CELL_TYPE,
+    UNKNOWN_FORMULA,
+    NOT_A_NUMBER,
+    NOT_A_NUMBER_WITH_FORMAT,
+    NOT_AN_INTEGER,
+    DATE_NOT_PARSED,
+    NUMBER_NOT_FORMATTED,
+    DATE_NOT_FORMATTED,
+    ENUM_NOT_SUPPORTED,
+    ENUM_NOT_PARSED,
+    ENUM_NOT_OBTAINED,
+    CUSTOM_TEXT_NOT_SUPPORTED,
+    CUSTOM_NOT_PARSED,
+    CUSTOM_NUMBER_NOT_SUPPORTED,
+    CUSTOM_NOT_CONVERTED,
+    CUSTOM_NOT_OBTAINED;
+
+    String format(Object input, Object context, Object cause) {
+        return switch (this) {
+            case MESSAGE -> String.valueOf(input);
+            case CELL_ERROR -> cellError(input, context, cause instanceof DeferredText formula ? formula.render() : cause);
+            case UNKNOWN_CELL_TYPE -> "Cannot determine cell type '" + input + "' at cell " + context;
+            case UNKNOWN_FORMULA -> "Cannot determine formula at cell " + context;
+            case NOT_A_NUMBER -> "String value is not valid number: " + input;
+            case NOT_A_NUMBER_WITH_FORMAT -> "String value is not valid number: " + input + " under format '" + context + "'";
+            case NOT_AN_INTEGER -> "String value is not an integer: " + input;
+            case DATE_NOT_PARSED -> "Date cannot be parsed from: " + input + " with format: '" + context + "'";
+            case NUMBER_NOT_FORMATTED -> "String cannot be formatted from number: " + input;
+            case DATE_NOT_FORMATTED -> "String cannot be formatted from date: " + input + " with format: '" + context + "'";
+            case ENUM_NOT_SUPPORTED -> "Not supported enumeration: " + simpleName(context);
+            case ENUM_NOT_PARSED -> simpleName(context) + " cannot be parsed from:" + input;
+            case ENUM_NOT_OBTAINED -> "Enum value cannot be obtained";
+            case CUSTOM_TEXT_NOT_SUPPORTED -> "Custom type is not supported for text parsing: " + simpleName(context);
+            case CUSTOM_NOT_PARSED -> simpleName(context) + " cannot be parsed from: " + input + dueTo(cause);
+            case CUSTOM_NUMBER_NOT_SUPPORTED -> "Custom type is not supported for number conversion: " + simpleName(context);
+            case CUSTOM_NOT_CONVERTED -> simpleName(context) + " cannot be converted from: " + input + dueTo(cause);
+            case CUSTOM_NOT_OBTAINED -> "Custom value cannot be obtained";
+        };
+    }
+
+    private static String cellError(Object error, Object address, Object formula) {
+        return formula == null ? error + "@" + address : error + "@" + address + ":" + formula;
+    }
+
+    private static String simpleName(Object type) {
+        return type instanceof Class<?> c ? c.getSimpleName() : String.valueOf(type);
+    }
+
+    private static String dueTo(Object cause) {
+        return cause == null ? "" : " due to: " + cause;
+    }
+}
+
+/**
+ * Part of a message that is costly to produce, e.g. formula text rendered from parsed tokens; rendered only when the
+ * message is built. {@code null} means there is nothing to show.
+ */
+@FunctionalInterface
+interface DeferredText {
+    String render();
+}
+
+/**
+ * Error code with raw inputs it was raised for (source text or number, format, type, cell reference...).
+ * Human-readable message is built on first call to {@link #message()}, so producing millions of errors costs one small
+ * object each instead of string concatenation. Details are equal when their messages are.
+ */
+final class ErrorDetail {
+    private final ErrorCode code;
+    private final Object input;
+    private final Object context;
+    private final Object cause;
+    private String message;
+
+    private ErrorDetail(ErrorCode code, Object input, Object context, Object cause) {
+        this.code = code;
+        this.input = input;
+        this.context = context;
+        this.cause = cause;
+    }
+
+    static ErrorDetail of(String message) {
+        var detail = new ErrorDetail(ErrorCode.MESSAGE, message, null, null);
+        detail.message = message;
+        return detail;
+    }
+
+    /**
+     * Detail read back from storage, where only code and message are kept.
+     */
+    static ErrorDetail restore(ErrorCode code, String message) {
+        var detail = new ErrorDetail(code, null, null, null);
+        detail.message = message;
+        return detail;
+    }
+
+    static ErrorDetail of(ErrorCode code, Object input) {
+        return new ErrorDetail(code, input, null, null);
+    }
+
+    static ErrorDetail of(ErrorCode code, Object input, Object context) {
+        return new ErrorDetail(code, input, context, null);
+    }
+
+    static ErrorDetail of(ErrorCode code, Object input, Object context, Object cause) {
+        return new ErrorDetail(code, input, context, cause);
+    }
+
+    ErrorCode code() {
+        return code;
+    }
+
+    Object input() {
+        return input;
+    }
+
+    Object context() {
+        return context;
+    }
+
+    /**
+     * Formatting may race from several threads; every thread builds the same text, so a lost write is harmless.
+     */
+    String message() {
+        var result = message;
+        if (result == null) message = result = code.format(input, context, cause);
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof ErrorDetail other && message().equals(other.message());
+    }
+
+    @Override
+    public int hashCode() {
+        return message().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return message();
+    }
+}
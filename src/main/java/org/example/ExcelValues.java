@@ -19,9 +19,18 @@ record DateCellValue(java.time.LocalDate value) implements CellValue {
 }
 
 record BooleanCellValue(boolean value) implements CellValue {
+    public static final BooleanCellValue TRUE = new BooleanCellValue(true);
+    public static final BooleanCellValue FALSE = new BooleanCellValue(false);
+
+    static BooleanCellValue of(boolean value) {
+        return value ? TRUE : FALSE;
+    }
 }
 
-record ErrorCellValue(String value) implements CellValue {
+record ErrorCellValue(ErrorDetail value) implements CellValue {
+    ErrorCellValue(String value) {
+        this(ErrorDetail.of(value));
+    }
 }
 
 final class EmptyCellValue implements CellValue {
@@ -0,0 +1,61 @@
+package org.example;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.ss.util.CellAddress;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Evaluates every formula cell of a sheet in process, for workbooks written without cached formula results.
+ * <p>
+ * Cells are evaluated in sheet order with one POI evaluator, whose cache keeps every result, so each formula is
+ * parsed and computed once. A formula referring to cells above or to the left therefore finds them already
+ * evaluated; one referring far ahead makes POI recurse through the chain of its precedents, and chains of several
+ * thousand cells can exhaust the stack. Cells on cycles come out as POI's circular reference errors.
+ */
+@Slf4j
+final class FormulaEvaluation {
+    private FormulaEvaluation() {
+    }
+
+    /**
+     * @return value of every formula cell of the sheet, cached results are ignored
+     */
+    static Map<CellAddress, CellValue> evaluate(Sheet sheet, DateStyleCache dateStyles) {
+        var workbook = sheet.getWorkbook();
+        var evaluator = workbook.getCreationHelper().createFormulaEvaluator();
+        evaluator.setIgnoreMissingWorkbooks(true);
+        boolean date1904 = workbook instanceof Date1904Support support && support.isDate1904();
+
+        var results = new HashMap<CellAddress, CellValue>();
+        for (var row : sheet)
+            for (var cell : row)
+                if (cell.getCellType() == CellType.FORMULA) results.put(cell.getAddress(), evaluate(evaluator, cell, dateStyles, date1904));
+        log.debug("Evaluated {} formula cells of sheet '{}'", results.size(), sheet.getSheetName());
+        return results;
+    }
+
+    private static CellValue evaluate(FormulaEvaluator evaluator, Cell cell, DateStyleCache dateStyles, boolean date1904) {
+        org.apache.poi.ss.usermodel.CellValue value;
+        try {
+            value = evaluator.evaluate(cell);
+        } catch (RuntimeException e) {
+            log.debug("Cannot evaluate {} at {}: {}", cell.getCellFormula(), cell.getAddress(), e.getMessage());
+            return new ErrorCellValue(ErrorDetail.of(ErrorCode.UNKNOWN_FORMULA, null, cell.getAddress()));
+        }
+        if (value == null) return EmptyCellValue.INSTANCE;
+
+        return switch (value.getCellType()) {
+            case NUMERIC -> dateStyles.isDateFormatted(Short.toUnsignedInt(cell.getCellStyle().getIndex()), value.getNumberValue())
+                    ? new DateCellValue(DateUtil.getLocalDateTime(value.getNumberValue(), date1904).toLocalDate())
+                    : new NumberCellValue(value.getNumberValue());
+            case STRING -> new StringCellValue(value.getStringValue());
+            case BOOLEAN -> BooleanCellValue.of(value.getBooleanValue());
+            case ERROR -> new ErrorCellValue(ErrorDetail.of(ErrorCode.CELL_ERROR,
+                    FormulaError.forInt(value.getErrorValue()).getString(), cell.getAddress(), Main.formulaText(cell)));
+            default -> EmptyCellValue.INSTANCE;
+        };
+    }
+}
@@ -0,0 +1,190 @@
+package org.example;
+
+import jdk.jfr.*;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Java Flight Recorder events of ingestion. When recording is off (or an event type is disabled) events are created
+ * and dropped without computing any field, so the cost is an allocation the JIT usually removes.
+ */
+final class IngestionEvents {
+    static final String CATEGORY = "Excel Parser";
+    /**
+     * Smallest number of error cells in one converted batch reported as {@link ErrorBurstEvent}.
+     */
+    static final int ERROR_BURST_MIN_ERRORS = 16;
+
+    private IngestionEvents() {
+    }
+
+    /**
+     * Fills and commits {@link WorkbookOpenEvent}; sheets are counted only when the event is recorded, -1 when they
+     * cannot be listed.
+     */
+    static void commitOpen(WorkbookOpenEvent event, String source, String format, SheetReader reader) {
+        event.end();
+        if (!event.shouldCommit()) return;
+        event.source = source;
+        event.format = format;
+        try {
+            event.sheetCount = reader.sheetNames().size();
+        } catch (IOException e) {
+            event.sheetCount = -1;
+        }
+        event.commit();
+    }
+
+    /**
+     * @return consumer counting rows into {@code event}, or {@code rowConsumer} itself when the event is disabled
+     */
+    static Consumer<ParsedRow> countingRows(SheetReadEvent event, Consumer<ParsedRow> rowConsumer) {
+        if (!event.isEnabled()) return rowConsumer;
+        return parsedRow -> {
+            event.rowCount++;
+            rowConsumer.accept(parsedRow);
+        };
+    }
+
+    /**
+     * @return columns per kind in {@link ColumnDefinitionKind} order, e.g. {@code INTEGER=1, STRING=2}
+     */
+    static String kindMix(List<? extends ColumnDefinition<?>> columnDefinitions) {
+        var counts = new EnumMap<ColumnDefinitionKind, Integer>(ColumnDefinitionKind.class);
+        columnDefinitions.forEach(columnDefinition -> counts.merge(columnDefinition.getKind(), 1, Integer::sum));
+        return counts.entrySet().stream().map(entry -> entry.getKey().name() + "=" + entry.getValue()).collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Commits conversion events of rows {@code fromRow..toRow} of {@code rows}: the batch itself and, when the batch
+     * holds at least {@link #ERROR_BURST_MIN_ERRORS} error cells, an error burst. Both events must have been begun.
+     *
+     * @param rowOffset position of {@code rows[0]} among all rows, added to reported first row
+     */
+    static void commitConversion(RowBatchConversionEvent batch, ErrorBurstEvent burst, RowConverter converter,
+                                 List<Value>[] rows, int fromRow, int toRow, long rowOffset) {
+        batch.end();
+        burst.end();
+        boolean commitBatch = batch.shouldCommit();
+        boolean commitBurst = burst.shouldCommit();
+        if (!commitBatch && !commitBurst) return;
+
+        int errorCount = 0;
+        ErrorDetail firstError = null;
+        for (int i = fromRow; i < toRow; i++) {
+            for (var value : rows[i]) {
+                if (value instanceof ErrorValue error) {
+                    if (errorCount++ == 0) firstError = error.error();
+                }
+            }
+        }
+
+        var kindMix = kindMix(converter.columnDefinitions());
+        if (commitBatch) {
+            batch.firstRow = rowOffset + fromRow;
+            batch.rowCount = toRow - fromRow;
+            batch.columnCount = converter.columnCount();
+            batch.errorCount = errorCount;
+            batch.columnKinds = kindMix;
+            batch.commit();
+        }
+        if (commitBurst && errorCount >= ERROR_BURST_MIN_ERRORS) {
+            burst.firstRow = rowOffset + fromRow;
+            burst.rowCount = toRow - fromRow;
+            burst.errorCount = errorCount;
+            burst.columnKinds = kindMix;
+            burst.firstError = firstError.message();
+            burst.commit();
+        }
+    }
+}
+
+@Name("org.example.WorkbookOpen")
+@Label("Workbook Open")
+@Category({IngestionEvents.CATEGORY, "Ingestion"})
+@Description("Opening a workbook and reading its global records")
+@StackTrace(false)
+final class WorkbookOpenEvent extends Event {
+    @Label("Source")
+    @Description("File name or 'stream'")
+    String source;
+
+    @Label("Format")
+    String format;
+
+    @Label("Sheet Count")
+    int sheetCount;
+}
+
+@Name("org.example.SheetRead")
+@Label("Sheet Read")
+@Category({IngestionEvents.CATEGORY, "Ingestion"})
+@Description("One pass over a sheet, including the time spent by the row consumer")
+@StackTrace(false)
+final class SheetReadEvent extends Event {
+    @Label("Sheet Name")
+    String sheetName;
+
+    @Label("Format")
+    String format;
+
+    @Label("Row Count")
+    long rowCount;
+
+    void commit(String sheetName, String format) {
+        end();
+        if (!shouldCommit()) return;
+        this.sheetName = sheetName;
+        this.format = format;
+        commit();
+    }
+}
+
+@Name("org.example.RowBatchConversion")
+@Label("Row Batch Conversion")
+@Category({IngestionEvents.CATEGORY, "Conversion"})
+@Description("Conversion of a batch of parsed rows with column definitions")
+@StackTrace(false)
+final class RowBatchConversionEvent extends Event {
+    @Label("First Row")
+    long firstRow;
+
+    @Label("Row Count")
+    int rowCount;
+
+    @Label("Column Count")
+    int columnCount;
+
+    @Label("Column Kinds")
+    @Description("Number of columns per ColumnDefinitionKind")
+    String columnKinds;
+
+    @Label("Error Count")
+    int errorCount;
+}
+
+@Name("org.example.ErrorBurst")
+@Label("Error Burst")
+@Category({IngestionEvents.CATEGORY, "Conversion"})
+@Description("Converted batch with many error cells")
+@StackTrace(false)
+final class ErrorBurstEvent extends Event {
+    @Label("First Row")
+    long firstRow;
+
+    @Label("Row Count")
+    int rowCount;
+
+    @Label("Column Kinds")
+    String columnKinds;
+
+    @Label("Error Count")
+    int errorCount;
+
+    @Label("First Error")
+    String firstError;
+}
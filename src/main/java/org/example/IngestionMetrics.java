@@ -0,0 +1,287 @@
+package org.example;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.management.*;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process counters and timers of ingestion: rows read, cells per {@link CellValue} type, conversions and errors
+ * per {@link ColumnDefinitionKind}, bytes read and latency per {@link Phase}. Published as MBean
+ * {@value #OBJECT_NAME} by {@link #register()}.
+ * <p>
+ * Disabled by default (enable with {@link #setEnabled(boolean)} or {@code -Dexcelparser.metrics=true}); when disabled
+ * every hook is a single flag check and readers do not wrap their consumers or streams.
+ */
+@Slf4j
+final class IngestionMetrics {
+    static final String OBJECT_NAME = "org.example:type=IngestionMetrics";
+    /**
+     * Returned by {@link #start()} while disabled, makes {@link #stop(Phase, long)} a no-op.
+     */
+    static final long NOT_TIMED = Long.MIN_VALUE;
+
+    enum Phase {OPEN, READ, CONVERT}
+
+    private static final String[] CELL_TYPES = {"Boolean", "Date", "Empty", "Error", "Number", "String"};
+    private static final IngestionMetrics INSTANCE = new IngestionMetrics();
+    private static volatile boolean enabled = Boolean.getBoolean("excelparser.metrics");
+
+    private final LongAdder rowsRead = new LongAdder();
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder[] cells = adders(CELL_TYPES.length);
+    private final LongAdder[] conversions = adders(ColumnDefinitionKind.values().length);
+    private final LongAdder[] errors = adders(ColumnDefinitionKind.values().length);
+    private final LongAdder[] phaseCounts = adders(Phase.values().length);
+    private final LongAdder[] phaseNanos = adders(Phase.values().length);
+    private final LongAccumulator[] phaseMaxNanos = new LongAccumulator[Phase.values().length];
+
+    private IngestionMetrics() {
+        for (int i = 0; i < phaseMaxNanos.length; i++) phaseMaxNanos[i] = new LongAccumulator(Math::max, 0);
+    }
+
+    static boolean isEnabled() {
+        return enabled;
+    }
+
+    static void setEnabled(boolean enabled) {
+        IngestionMetrics.enabled = enabled;
+    }
+
+    /**
+     * Registers the MBean in the platform MBean server; does nothing if it is already registered.
+     */
+    static void register() {
+        try {
+            var server = ManagementFactory.getPlatformMBeanServer();
+            var name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) server.registerMBean(new MetricsMBean(INSTANCE), name);
+        } catch (InstanceAlreadyExistsException ignored) {
+            // registered concurrently
+        } catch (JMException e) {
+            log.warn("Cannot register ingestion metrics MBean: {}", e.getMessage());
+        }
+    }
+
+    static void unregister() {
+        try {
+            var server = ManagementFactory.getPlatformMBeanServer();
+            var name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) server.unregisterMBean(name);
+        } catch (InstanceNotFoundException ignored) {
+            // unregistered concurrently
+        } catch (JMException e) {
+            log.warn("Cannot unregister ingestion metrics MBean: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Current values keyed by MBean attribute name.
+     */
+    static Map<String, Long> snapshot() {
+        var result = new LinkedHashMap<String, Long>();
+        INSTANCE.attributes().forEach((name, value) -> result.put(name, value.getAsLong()));
+        return result;
+    }
+
+    static void reset() {
+        var metrics = INSTANCE;
+        metrics.rowsRead.reset();
+        metrics.bytesRead.reset();
+        for (var adders : new LongAdder[][]{metrics.cells, metrics.conversions, metrics.errors, metrics.phaseCounts, metrics.phaseNanos})
+            for (var adder : adders) adder.reset();
+        for (var max : metrics.phaseMaxNanos) max.reset();
+    }
+
+    /**
+     * @return consumer counting rows and cells before passing them on, or {@code rowConsumer} itself when disabled
+     */
+    static Consumer<ParsedRow> countingRows(Consumer<ParsedRow> rowConsumer) {
+        if (!enabled) return rowConsumer;
+        return parsedRow -> {
+            INSTANCE.rowsRead.increment();
+            for (var cellValue : parsedRow.cellValues())
+                INSTANCE.cells[cellType(cellValue)].increment();
+            rowConsumer.accept(parsedRow);
+        };
+    }
+
+    /**
+     * @return stream adding every byte read to {@code BytesRead}, or {@code inputStream} itself when disabled
+     */
+    static InputStream countingBytes(InputStream inputStream) {
+        if (!enabled) return inputStream;
+        return new FilterInputStream(inputStream) {
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b >= 0) INSTANCE.bytesRead.increment();
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int n = super.read(b, off, len);
+                if (n > 0) INSTANCE.bytesRead.add(n);
+                return n;
+            }
+
+            @Override
+            public long skip(long n) throws IOException {
+                long skipped = super.skip(n);
+                INSTANCE.bytesRead.add(skipped);
+                return skipped;
+            }
+        };
+    }
+
+    static void bytesRead(long bytes) {
+        if (enabled) INSTANCE.bytesRead.add(bytes);
+    }
+
+    static void converted(ColumnDefinitionKind kind, Value value) {
+        if (!enabled) return;
+        INSTANCE.conversions[kind.ordinal()].increment();
+        if (value instanceof ErrorValue) INSTANCE.errors[kind.ordinal()].increment();
+    }
+
+    static long start() {
+        return enabled ? System.nanoTime() : NOT_TIMED;
+    }
+
+    static void stop(Phase phase, long start) {
+        if (start == NOT_TIMED) return;
+        long nanos = System.nanoTime() - start;
+        INSTANCE.phaseCounts[phase.ordinal()].increment();
+        INSTANCE.phaseNanos[phase.ordinal()].add(nanos);
+        INSTANCE.phaseMaxNanos[phase.ordinal()].accumulate(nanos);
+    }
+
+    private static int cellType(CellValue cellValue) {
+        return switch (cellValue) {
+            case BooleanCellValue ignored -> 0;
+            case DateCellValue ignored -> 1;
+            case EmptyCellValue ignored -> 2;
+            case ErrorCellValue ignored -> 3;
+            case NumberCellValue ignored -> 4;
+            case StringCellValue ignored -> 5;
+        };
+    }
+
+    private static LongAdder[] adders(int count) {
+        var adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) adders[i] = new LongAdder();
+        return adders;
+    }
+
+    private Map<String, LongSupplier> attributes() {
+        var result = new LinkedHashMap<String, LongSupplier>();
+        result.put("RowsRead", rowsRead::sum);
+        result.put("BytesRead", bytesRead::sum);
+        for (int i = 0; i < CELL_TYPES.length; i++)
+            result.put("Cells" + CELL_TYPES[i], cells[i]::sum);
+        for (var kind : ColumnDefinitionKind.values()) {
+            var name = capitalize(kind.name());
+            result.put("Conversions" + name, conversions[kind.ordinal()]::sum);
+            result.put("Errors" + name, errors[kind.ordinal()]::sum);
+        }
+        for (var phase : Phase.values()) {
+            var name = capitalize(phase.name());
+            result.put(name + "Count", phaseCounts[phase.ordinal()]::sum);
+            result.put(name + "TotalNanos", phaseNanos[phase.ordinal()]::sum);
+            result.put(name + "MaxNanos", phaseMaxNanos[phase.ordinal()]::get);
+        }
+        return result;
+    }
+
+    private static String capitalize(String constant) {
+        return constant.charAt(0) + constant.substring(1).toLowerCase();
+    }
+
+    /**
+     * Read-only long attributes, writable {@code Enabled} flag and {@code reset} operation.
+     */
+    private static final class MetricsMBean implements DynamicMBean {
+        private static final String ENABLED = "Enabled";
+        private final Map<String, LongSupplier> attributes;
+        private final MBeanInfo info;
+
+        MetricsMBean(IngestionMetrics metrics) {
+            this.attributes = metrics.attributes();
+            var attributeInfos = new MBeanAttributeInfo[attributes.size() + 1];
+            attributeInfos[0] = new MBeanAttributeInfo(ENABLED, "boolean", "Whether metrics are collected", true, true, true);
+            int i = 1;
+            for (var name : attributes.keySet())
+                attributeInfos[i++] = new MBeanAttributeInfo(name, "long", name, true, false, false);
+            var reset = new MBeanOperationInfo("reset", "Resets all counters and timers", new MBeanParameterInfo[0],
+                    "void", MBeanOperationInfo.ACTION);
+            this.info = new MBeanInfo(IngestionMetrics.class.getName(), "Excel ingestion metrics", attributeInfos,
+                    null, new MBeanOperationInfo[]{reset}, null);
+        }
+
+        @Override
+        public Object getAttribute(String attribute) throws AttributeNotFoundException {
+            if (ENABLED.equals(attribute)) return enabled;
+            var value = attributes.get(attribute);
+            if (value == null) throw new AttributeNotFoundException(attribute);
+            return value.getAsLong();
+        }
+
+        @Override
+        public void setAttribute(Attribute attribute) throws AttributeNotFoundException, InvalidAttributeValueException {
+            if (!ENABLED.equals(attribute.getName())) throw new AttributeNotFoundException(attribute.getName() + " is read-only");
+            if (!(attribute.getValue() instanceof Boolean value))
+                throw new InvalidAttributeValueException(ENABLED + " must be boolean");
+            setEnabled(value);
+        }
+
+        @Override
+        public AttributeList getAttributes(String[] names) {
+            var result = new AttributeList();
+            for (var name : names) {
+                try {
+                    result.add(new Attribute(name, getAttribute(name)));
+                } catch (AttributeNotFoundException ignored) {
+                    // skipped as required by DynamicMBean
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public AttributeList setAttributes(AttributeList attributes) {
+            var result = new AttributeList();
+            for (var attribute : attributes.asList()) {
+                try {
+                    setAttribute(attribute);
+                    result.add(attribute);
+                } catch (JMException ignored) {
+                    // skipped as required by DynamicMBean
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+            if (!"reset".equals(actionName))
+                throw new ReflectionException(new NoSuchMethodException(actionName), "Unknown operation " + actionName);
+            reset();
+            return null;
+        }
+
+        @Override
+        public MBeanInfo getMBeanInfo() {
+            return info;
+        }
+    }
+}
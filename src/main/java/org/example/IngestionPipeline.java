@@ -0,0 +1,265 @@
+package org.example;
+
+import lombok.extern.slf4j.Slf4j;
+import rangeCust.IndexSource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * @param firstRow position of the first row of the batch among all rows produced by the source
+ * @param rows     converted rows in source order
+ */
+record RowBatch(long firstRow, List<List<Value>> rows) {
+}
+
+/**
+ * Anything that pushes parsed rows, e.g. a sheet of {@link SheetReader} or {@link CsvReader}.
+ */
+@FunctionalInterface
+interface RowSource {
+    void read(Consumer<ParsedRow> rowConsumer) throws IOException;
+}
+
+/**
+ * Reads, converts and consumes rows at the same time: the source runs on a reader thread, batches are converted by
+ * worker threads and the sink runs on the calling thread, receiving batches in source order.
+ * <p>
+ * Stages are connected by bounded queues of batches, so at most {@code capacity} batches are in flight (plus one being
+ * filled by the reader and one in the sink). A slow sink fills the queues and blocks the reader.
+ * <p>
+ * The reader thread is never interrupted, because an interrupt during a read closes channels for good; it is stopped
+ * at its next row instead. {@link #run} returns or throws only after all threads have ended, so the caller can close
+ * the source right away.
+ */
+@Slf4j
+final class IngestionPipeline {
+    static final int DEFAULT_BATCH_SIZE = 1024;
+    static final int DEFAULT_CAPACITY = 16;
+
+    private final RowConverter converter;
+    private final int workers;
+    private final int batchSize;
+    private final int capacity;
+
+    IngestionPipeline(RowConverter converter, int workers, int batchSize, int capacity) {
+        if (workers <= 0) throw new IllegalArgumentException("workers must be positive");
+        if (batchSize <= 0) throw new IllegalArgumentException("batchSize must be positive");
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be positive");
+        this.converter = converter;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.capacity = capacity;
+    }
+
+    /**
+     * One converter per core left after the reader.
+     */
+    static IngestionPipeline of(List<? extends ColumnDefinition<?>> columnDefinitions) {
+        int workers = Math.max(Runtime.getRuntime().availableProcessors() - 1, 1);
+        return new IngestionPipeline(RowConverter.compile(columnDefinitions), workers, DEFAULT_BATCH_SIZE, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Reads chosen rows of the sheet with columns projected from the converter's column definitions.
+     *
+     * @return number of rows passed to the sink
+     */
+    long run(SheetReader reader, String sheetName, IndexSource rows, Consumer<RowBatch> sink) throws IOException {
+        var projection = ColumnProjection.from(converter.columnDefinitions());
+        return run(rowConsumer -> reader.readSheet(sheetName, projection, rows, rowConsumer), sink);
+    }
+
+    /**
+     * Blocks until the source is exhausted and every batch is consumed. When any stage fails the others are stopped,
+     * awaited and its exception is rethrown.
+     *
+     * @return number of rows passed to the sink
+     */
+    long run(RowSource source, Consumer<RowBatch> sink) throws IOException {
+        return new Run(source).drainTo(sink);
+    }
+
+    /**
+     * Batch on its way through the pipeline; the same instance is queued for a worker and for the sink.
+     */
+    private record PendingBatch(long firstRow, List<ParsedRow> parsedRows, CompletableFuture<List<List<Value>>> result) {
+    }
+
+    private static final PendingBatch END = new PendingBatch(-1, List.of(), new CompletableFuture<>());
+    /**
+     * How often a reader blocked on a full queue checks whether the run was stopped.
+     */
+    private static final long STOP_CHECK_MILLIS = 10;
+
+    private static final class Stopped extends RuntimeException {
+        Stopped() {
+            super("Pipeline stopped", null, false, false);
+        }
+    }
+
+    private final class Run {
+        private final RowConverter session = converter.session();
+        private final BlockingQueue<PendingBatch> work = new ArrayBlockingQueue<>(capacity);
+        private final BlockingQueue<PendingBatch> ordered = new ArrayBlockingQueue<>(capacity);
+        private final List<Thread> converters = new ArrayList<>();
+        private final Thread reader;
+        private volatile Throwable readFailure;
+        private volatile boolean stopped;
+
+        Run(RowSource source) {
+            for (int i = 0; i < workers; i++)
+                converters.add(Thread.ofPlatform().name("ingestion-converter-" + i).daemon().start(this::convert));
+            reader = Thread.ofPlatform().name("ingestion-reader").daemon().start(() -> read(source));
+        }
+
+        long drainTo(Consumer<RowBatch> sink) throws IOException {
+            long rowCount = 0;
+            try {
+                for (var pending = ordered.take(); pending != END; pending = ordered.take()) {
+                    var rows = pending.result().join();
+                    sink.accept(new RowBatch(pending.firstRow(), rows));
+                    rowCount += rows.size();
+                }
+            } catch (InterruptedException e) {
+                stop();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for converted rows", e);
+            } catch (CompletionException e) {
+                stop();
+                throw rethrow(e.getCause());
+            } catch (RuntimeException | Error e) {
+                stop();
+                throw e;
+            }
+
+            joinAll();
+            if (readFailure != null) throw rethrow(readFailure);
+            log.debug("Pipeline passed {} rows to sink", rowCount);
+            return rowCount;
+        }
+
+        private void read(RowSource source) {
+            var batch = new ArrayList<ParsedRow>(batchSize);
+            long[] rowCount = {0};
+            try {
+                source.read(parsedRow -> {
+                    if (stopped) throw new Stopped();
+                    batch.add(parsedRow);
+                    if (batch.size() == batchSize) {
+                        submit(rowCount[0], List.copyOf(batch));
+                        rowCount[0] += batch.size();
+                        batch.clear();
+                    }
+                });
+                if (!batch.isEmpty()) submit(rowCount[0], List.copyOf(batch));
+            } catch (Stopped ignored) {
+                return;
+            } catch (Throwable e) {
+                if (stopped) return;
+                readFailure = e;
+            }
+
+            try {
+                for (int i = 0; i < workers; i++) put(work, END);
+                put(ordered, END);
+            } catch (Stopped ignored) {
+                // stopped by failing sink
+            }
+        }
+
+        private void submit(long firstRow, List<ParsedRow> parsedRows) {
+            var pending = new PendingBatch(firstRow, parsedRows, new CompletableFuture<>());
+            put(ordered, pending);
+            put(work, pending);
+        }
+
+        /**
+         * Waits for free space while the run goes on, so a stopped sink never leaves the reader blocked.
+         */
+        private void put(BlockingQueue<PendingBatch> queue, PendingBatch pending) {
+            try {
+                while (!queue.offer(pending, STOP_CHECK_MILLIS, TimeUnit.MILLISECONDS))
+                    if (stopped) throw new Stopped();
+            } catch (InterruptedException e) {
+                throw new Stopped();
+            }
+        }
+
+        private void convert() {
+            try {
+                for (var pending = work.take(); pending != END; pending = work.take()) {
+                    try {
+                        pending.result().complete(convert(pending));
+                    } catch (Throwable e) {
+                        pending.result().completeExceptionally(e);
+                    }
+                }
+            } catch (InterruptedException ignored) {
+                // stopped by failing sink
+            }
+        }
+
+        private List<List<Value>> convert(PendingBatch pending) {
+            var parsedRows = pending.parsedRows();
+            @SuppressWarnings("unchecked")
+            List<Value>[] rows = new List[parsedRows.size()];
+            var batchEvent = new RowBatchConversionEvent();
+            var burstEvent = new ErrorBurstEvent();
+            batchEvent.begin();
+            burstEvent.begin();
+            for (int i = 0; i < rows.length; i++)
+                rows[i] = session.convert(parsedRows.get(i));
+            IngestionEvents.commitConversion(batchEvent, burstEvent, session, rows, 0, rows.length, pending.firstRow());
+            return Arrays.asList(rows);
+        }
+
+        /**
+         * Converters only wait on queues and are interrupted; the reader ends at its next row or queue check.
+         */
+        private void stop() {
+            stopped = true;
+            converters.forEach(Thread::interrupt);
+            joinAll();
+        }
+
+        /**
+         * Uninterruptible, stopped threads end within a row or {@link #STOP_CHECK_MILLIS}.
+         */
+        private void joinAll() {
+            boolean interrupted = false;
+            var threads = new ArrayList<>(converters);
+            threads.add(reader);
+            for (var thread : threads) {
+                while (true) {
+                    try {
+                        thread.join();
+                        break;
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            }
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+
+        private static IOException rethrow(Throwable e) {
+            return switch (e) {
+                case IOException io -> io;
+                case UncheckedIOException io -> io.getCause();
+                case RuntimeException re -> throw re;
+                case Error error -> throw error;
+                default -> new IOException(e);
+            };
+        }
+    }
+}
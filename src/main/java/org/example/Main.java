@@ -1,10 +1,15 @@
 package org.example;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.poifs.filesystem.FileMagic;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.ss.util.CellAddress;
+import org.apache.poi.xssf.usermodel.XSSFCell;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTCellFormula;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.*;
 
 @Slf4j
@@ -31,80 +36,170 @@ public class Main {
         var headerTypes = Collections.nCopies(10, new StringColumnDefinition());
 
         assert rows != null && !rows.isEmpty();
-        var header = parseValues(rows.getFirst(), headerTypes).stream().map(h -> ((StringValue) h).value()).toList();
-        var data = rows.stream().skip(1).map(row -> parseValues(row, dataTypes)).toList();
+        var header = RowConverter.compile(headerTypes).convert(rows.getFirst()).stream().map(h -> ((StringValue) h).value()).toList();
+        var conversion = ParallelRowConverter.of(dataTypes).convert(rows.subList(1, rows.size()));
+        conversion.chunkTimings().forEach(timing -> log.debug("Converted {}", timing));
+        var data = conversion.rows();
 
         log.info(String.valueOf(header));
         log.info(String.valueOf(data));
     }
 
-    private static List<Value> parseValues(ParsedRow parsedRow, List<? extends ColumnDefinition<?>> columnDefinitions) {
-        var cellValues = parsedRow.cellValues();
+    static List<ParsedRow> readExcel(InputStream inputStream) {
+        try {
+            var stream = FileMagic.prepareToCheckMagic(inputStream);
+            if (!isStreamable(FileMagic.valueOf(stream)))
+                return readWorkbook(stream);
 
-        if (cellValues.size() != columnDefinitions.size()) throw new IllegalStateException("Meta size do not match");
+            try (var reader = SheetReader.open(stream)) {
+                return readFirstSheet(reader);
+            }
+        } catch (IOException e) {
+            log.error("Error reading the Excel file: {}", e.getMessage());
+            return List.of();
+        }
+    }
 
-        var result = new ArrayList<Value>();
+    /**
+     * Reads the file in place instead of buffering it, so only parts being parsed are held in memory.
+     */
+    static List<ParsedRow> readExcel(Path file) {
+        try {
+            if (!isStreamable(FileMagic.valueOf(file.toFile())))
+                return readWorkbook(file);
 
-        for (int i = 0; i < cellValues.size(); i++) {
-            var cellValue = cellValues.get(i);
-            Value value = columnDefinitions.get(i).getValue(cellValue);
-            result.add(value);
+            try (var reader = SheetReader.open(file)) {
+                return readFirstSheet(reader);
+            }
+        } catch (IOException e) {
+            log.error("Error reading the Excel file: {}", e.getMessage());
+            return List.of();
         }
+    }
 
-        return result;
+    private static boolean isStreamable(FileMagic fileMagic) {
+        return fileMagic == FileMagic.OOXML || fileMagic == FileMagic.OLE2;
     }
 
-    static List<ParsedRow> readExcel(InputStream inputStream) {
-        try (Workbook workbook = WorkbookFactory.create(inputStream)) {
+    private static List<ParsedRow> readFirstSheet(SheetReader reader) throws IOException {
+        var parsedRows = new ArrayList<ParsedRow>();
+        reader.readSheet(0, parsedRows::add);
+        return parsedRows;
+    }
 
-            Sheet sheet = workbook.getSheetAt(0);
-            var parsedRows = new ArrayList<ParsedRow>(sheet.getLastRowNum());
+    static List<ParsedRow> readWorkbook(InputStream inputStream) {
+        return readWorkbook(inputStream, false);
+    }
 
-            for (int rowIndex = 0; rowIndex <= sheet.getLastRowNum(); rowIndex++) {
-                Row dataRow = sheet.getRow(rowIndex);
-                if (isRowEmpty(dataRow)) continue;
+    /**
+     * @param evaluateFormulas whether formula cells are evaluated in process (see {@link FormulaEvaluation}) instead
+     *                         of being read from cached results, e.g. for generated workbooks that have none
+     */
+    static List<ParsedRow> readWorkbook(InputStream inputStream, boolean evaluateFormulas) {
+        var event = new WorkbookOpenEvent();
+        event.begin();
+        try (Workbook workbook = WorkbookFactory.create(inputStream)) {
+            commitOpen(event, "stream", workbook);
+            return readFirstSheet(workbook, evaluateFormulas);
+        } catch (IOException e) {
+            log.error("Error reading the Excel file: {}", e.getMessage());
+            return List.of();
+        }
+    }
 
-                var cellValues = new ArrayList<CellValue>(dataRow.getLastCellNum());
-                for (int colIndex = 0; colIndex < dataRow.getLastCellNum(); colIndex++) {
-                    cellValues.add(getCellValue(dataRow.getCell(colIndex)));
-                }
+    static List<ParsedRow> readWorkbook(Path file) {
+        return readWorkbook(file, false);
+    }
 
-                parsedRows.add(new ParsedRow(cellValues));
-            }
-            return parsedRows;
+    static List<ParsedRow> readWorkbook(Path file, boolean evaluateFormulas) {
+        var event = new WorkbookOpenEvent();
+        event.begin();
+        try (Workbook workbook = WorkbookFactory.create(file.toFile(), null, true)) {
+            commitOpen(event, String.valueOf(file.getFileName()), workbook);
+            return readFirstSheet(workbook, evaluateFormulas);
         } catch (IOException e) {
             log.error("Error reading the Excel file: {}", e.getMessage());
             return List.of();
         }
     }
 
-    private static CellValue getCellValue(Cell cell) {
+    private static void commitOpen(WorkbookOpenEvent event, String source, Workbook workbook) {
+        event.end();
+        if (!event.shouldCommit()) return;
+        event.source = source;
+        event.format = workbook.getSpreadsheetVersion().name();
+        event.sheetCount = workbook.getNumberOfSheets();
+        event.commit();
+    }
+
+    private static List<ParsedRow> readFirstSheet(Workbook workbook, boolean evaluateFormulas) {
+        var dateStyles = DateStyleCache.of(workbook);
+
+        Sheet sheet = workbook.getSheetAt(0);
+        Map<CellAddress, CellValue> evaluated = evaluateFormulas ? FormulaEvaluation.evaluate(sheet, dateStyles) : Map.of();
+        var event = new SheetReadEvent();
+        event.begin();
+        var parsedRows = new ArrayList<ParsedRow>(sheet.getLastRowNum());
+
+        for (int rowIndex = 0; rowIndex <= sheet.getLastRowNum(); rowIndex++) {
+            Row dataRow = sheet.getRow(rowIndex);
+            if (isRowEmpty(dataRow)) continue;
+
+            var cellValues = new ArrayList<CellValue>(dataRow.getLastCellNum());
+            for (int colIndex = 0; colIndex < dataRow.getLastCellNum(); colIndex++) {
+                cellValues.add(getCellValue(dataRow.getCell(colIndex), dateStyles, evaluated));
+            }
+
+            parsedRows.add(new ParsedRow(cellValues));
+        }
+        event.rowCount = parsedRows.size();
+        event.commit(sheet.getSheetName(), workbook.getSpreadsheetVersion().name());
+        return parsedRows;
+    }
+
+    private static CellValue getCellValue(Cell cell, DateStyleCache dateStyles, Map<CellAddress, CellValue> evaluated) {
         if (cell == null) return EmptyCellValue.INSTANCE;
+        if (cell.getCellType() == CellType.FORMULA && evaluated.get(cell.getAddress()) instanceof CellValue value)
+            return value;
 
         return switch (cell.getCellType()) {
             case STRING -> new StringCellValue(cell.getStringCellValue());
-            case NUMERIC -> DateUtil.isCellDateFormatted(cell)
+            case NUMERIC -> dateStyles.isDateFormatted(cell)
                     ? new DateCellValue(cell.getLocalDateTimeCellValue().toLocalDate())
                     : new NumberCellValue(cell.getNumericCellValue());
-            case BOOLEAN -> new BooleanCellValue(cell.getBooleanCellValue());
+            case BOOLEAN -> BooleanCellValue.of(cell.getBooleanCellValue());
             case BLANK, _NONE -> EmptyCellValue.INSTANCE;
             case ERROR ->
-                    new ErrorCellValue(FormulaError.forInt(cell.getErrorCellValue()).getString() + "@" + cell.getAddress());
+                    new ErrorCellValue(ErrorDetail.of(ErrorCode.CELL_ERROR, FormulaError.forInt(cell.getErrorCellValue()).getString(), cell.getAddress()));
 
             case FORMULA -> switch (cell.getCachedFormulaResultType()) {
                 case STRING -> new StringCellValue(cell.getStringCellValue());
-                case NUMERIC -> DateUtil.isCellDateFormatted(cell)
+                case NUMERIC -> dateStyles.isDateFormatted(cell)
                         ? new DateCellValue(cell.getLocalDateTimeCellValue().toLocalDate())
                         : new NumberCellValue(cell.getNumericCellValue());
-                case BOOLEAN -> new BooleanCellValue(cell.getBooleanCellValue());
+                case BOOLEAN -> BooleanCellValue.of(cell.getBooleanCellValue());
                 case BLANK -> EmptyCellValue.INSTANCE;
                 case ERROR ->
-                        new ErrorCellValue(FormulaError.forInt(cell.getErrorCellValue()).getString() + "@" + cell.getAddress() + ":" + cell.getCellFormula());
-                default -> new ErrorCellValue("Cannot determine formula at cell " + cell.getAddress());
+                        new ErrorCellValue(ErrorDetail.of(ErrorCode.CELL_ERROR, FormulaError.forInt(cell.getErrorCellValue()).getString(), cell.getAddress(), formulaText(cell)));
+                default -> new ErrorCellValue(ErrorDetail.of(ErrorCode.UNKNOWN_FORMULA, null, cell.getAddress()));
             };
         };
     }
 
+    /**
+     * Formula text is taken while the workbook is open, so error values do not keep the cell or its workbook reachable.
+     *
+     * @return formula as stored in .xlsx cells, otherwise rendered from tokens; {@code null} when it cannot be rendered
+     */
+    static String formulaText(Cell cell) {
+        if (cell instanceof XSSFCell xssf && xssf.getCTCell().getF() instanceof CTCellFormula formula && !formula.getStringValue().isEmpty())
+            return formula.getStringValue();
+        try {
+            return cell.getCellFormula();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
 
     private static boolean isRowEmpty(Row row) {
         if (row == null) {
@@ -0,0 +1,217 @@
+package org.example;
+
+import java.math.BigDecimal;
+
+/**
+ * Allocation free parsing of plain decimal and US grouped numbers ("1,234.56", "-12", "3.5E2").
+ * Failures are reported by return value, never by exception.
+ * Text is scanned twice: first pass validates and measures, second pass collects significant digits.
+ */
+final class NumericText {
+    private NumericText() {
+    }
+
+    static final long NOT_AN_INTEGER = Long.MIN_VALUE;
+
+    private static final long INVALID = 0L;
+    private static final long VALID = 1L << 62;
+    private static final long NEGATIVE = 1L << 61;
+    private static final int MAX_DIGITS = (1 << 20) - 1;
+    private static final int MAX_EXPONENT = 999_999;
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * @return true when DecimalFormat pattern does not change how plain numbers are read, i.e. it has no prefix,
+     * suffix, percent, currency or quoted parts
+     */
+    static boolean isPlainPattern(String format) {
+        if (format == null) return true;
+        for (int i = 0; i < format.length(); i++) {
+            char c = format.charAt(i);
+            if (!(c == '#' || c == ',' || c == '.' || c == 'E' || (c >= '0' && c <= '9')))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return parsed value or {@link Double#NaN} when text is not a number
+     */
+    static double parseDouble(CharSequence text) {
+        long scan = scan(text, false);
+        if (scan == INVALID) return Double.NaN;
+
+        int digits = digits(scan);
+        int exponent = exponent(scan);
+        boolean negative = (scan & NEGATIVE) != 0;
+
+        if (digits == 0) return negative ? -0.0 : 0.0;
+
+        if (digits <= 15 && exponent >= -22 && exponent <= 22) {
+            double significand = significand(text, digits);
+            double value = exponent >= 0 ? significand * POWERS_OF_TEN[exponent] : significand / POWERS_OF_TEN[-exponent];
+            return negative ? -value : value;
+        }
+        return Double.parseDouble(normalized(text, negative, exponent));
+    }
+
+    /**
+     * Accepts optional sign and digits with optional US grouping; fraction and exponent are rejected.
+     *
+     * @return parsed value or {@link #NOT_AN_INTEGER} when text is not an integer in int range
+     */
+    static long parseInt(CharSequence text) {
+        long scan = scan(text, true);
+        if (scan == INVALID) return NOT_AN_INTEGER;
+
+        int digits = digits(scan);
+        if (digits > 10) return NOT_AN_INTEGER;
+
+        long value = digits == 0 ? 0 : significand(text, digits);
+        if ((scan & NEGATIVE) != 0) value = -value;
+        return value < Integer.MIN_VALUE || value > Integer.MAX_VALUE ? NOT_AN_INTEGER : value;
+    }
+
+    /**
+     * Builds BigDecimal straight from parsed digits, keeping scale of the text ("1,234.50" -> 1234.50).
+     *
+     * @return parsed value or null when text is not a number
+     */
+    static BigDecimal parseDecimal(CharSequence text) {
+        long scan = scan(text, false);
+        if (scan == INVALID) return null;
+
+        int digits = digits(scan);
+        int exponent = exponent(scan);
+        boolean negative = (scan & NEGATIVE) != 0;
+
+        if (digits <= 18) {
+            long significand = digits == 0 ? 0 : significand(text, digits);
+            return BigDecimal.valueOf(negative ? -significand : significand, -exponent);
+        }
+        return new BigDecimal(normalized(text, negative, exponent));
+    }
+
+    /**
+     * @return {@link #INVALID} or packed flags, significant digit count (bits 32..51) and decimal exponent (low 32
+     * bits) such that value = digits * 10^exponent
+     */
+    private static long scan(CharSequence text, boolean integerOnly) {
+        if (text == null) return INVALID;
+
+        int end = text.length();
+        while (end > 0 && text.charAt(end - 1) <= ' ') end--;
+        int i = 0;
+        while (i < end && text.charAt(i) <= ' ') i++;
+        if (i == end) return INVALID;
+
+        boolean negative = false;
+        char c = text.charAt(i);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            i++;
+        }
+
+        int significant = 0;
+        int fractionDigits = 0;
+        boolean anyDigit = false;
+
+        // integer part, grouping with ',' requires 1-3 leading digits followed by groups of exactly 3
+        int groupLength = 0;
+        boolean grouped = false;
+        for (; i < end; i++) {
+            c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                anyDigit = true;
+                groupLength++;
+                if (significant > 0 || c != '0') significant++;
+            } else if (c == ',') {
+                if (grouped ? groupLength != 3 : groupLength == 0 || groupLength > 3) return INVALID;
+                grouped = true;
+                groupLength = 0;
+            } else break;
+        }
+        if (grouped && groupLength != 3) return INVALID;
+
+        if (i < end && text.charAt(i) == '.') {
+            if (integerOnly) return INVALID;
+            for (i++; i < end; i++) {
+                c = text.charAt(i);
+                if (c < '0' || c > '9') break;
+                anyDigit = true;
+                fractionDigits++;
+                if (significant > 0 || c != '0') significant++;
+            }
+        }
+        if (!anyDigit) return INVALID;
+
+        int exponent = 0;
+        if (i < end && (text.charAt(i) == 'e' || text.charAt(i) == 'E')) {
+            if (integerOnly) return INVALID;
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+                negativeExponent = text.charAt(i) == '-';
+                i++;
+            }
+            if (i == end) return INVALID;
+            for (; i < end; i++) {
+                c = text.charAt(i);
+                if (c < '0' || c > '9') return INVALID;
+                exponent = exponent * 10 + (c - '0');
+                if (exponent > MAX_EXPONENT) return INVALID;
+            }
+            if (negativeExponent) exponent = -exponent;
+        }
+        if (i != end || significant > MAX_DIGITS) return INVALID;
+
+        // trailing zeros of fraction count as significant so that decimal scale is preserved
+        return VALID | (negative ? NEGATIVE : 0) | ((long) significant << 32) | ((exponent - fractionDigits) & 0xFFFFFFFFL);
+    }
+
+    private static int digits(long scan) {
+        return (int) ((scan >>> 32) & MAX_DIGITS);
+    }
+
+    private static int exponent(long scan) {
+        return (int) scan;
+    }
+
+    /**
+     * Reads first significant digits, at most 18 of them.
+     */
+    private static long significand(CharSequence text, int digits) {
+        long result = 0;
+        int collected = 0;
+        for (int i = 0, length = text.length(); i < length && collected < digits; i++) {
+            char c = text.charAt(i);
+            if (c == 'e' || c == 'E') break;
+            if (c < '0' || c > '9' || (collected == 0 && c == '0')) continue;
+            result = result * 10 + (c - '0');
+            collected++;
+        }
+        return result;
+    }
+
+    /**
+     * Slow path for values that cannot be computed exactly from 64 bit significand.
+     */
+    private static String normalized(CharSequence text, boolean negative, int exponent) {
+        var builder = new StringBuilder(text.length() + 12);
+        if (negative) builder.append('-');
+        boolean leading = true;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            char c = text.charAt(i);
+            if (c == 'e' || c == 'E') break;
+            if (c < '0' || c > '9' || (leading && c == '0')) continue;
+            leading = false;
+            builder.append(c);
+        }
+        if (leading) builder.append('0');
+        return builder.append('E').append(exponent).toString();
+    }
+}
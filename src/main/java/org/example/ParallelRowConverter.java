@@ -0,0 +1,113 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * @param fromRow first row of the chunk (inclusive)
+ * @param toRow   last row of the chunk (exclusive)
+ */
+record ChunkTiming(int chunk, int fromRow, int toRow, long nanos, String threadName) {
+    int rowCount() {
+        return toRow - fromRow;
+    }
+
+    double rowsPerSecond() {
+        return nanos == 0 ? Double.POSITIVE_INFINITY : rowCount() * 1_000_000_000.0 / nanos;
+    }
+}
+
+/**
+ * @param rows         converted rows in the same order as input
+ * @param chunkTimings one entry per chunk, ordered by chunk index
+ */
+record ConversionResult(List<List<Value>> rows, List<ChunkTiming> chunkTimings) {
+}
+
+/**
+ * Converts rows on a fork-join pool. Input is split into fixed-size chunks and every chunk writes its results
+ * straight into its own slots of the output, so row order is kept without any merging step.
+ */
+final class ParallelRowConverter {
+    static final int DEFAULT_CHUNK_SIZE = 4096;
+
+    private final RowConverter converter;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    ParallelRowConverter(RowConverter converter, ForkJoinPool pool, int chunkSize) {
+        if (chunkSize <= 0) throw new IllegalArgumentException("chunkSize must be positive");
+        this.converter = converter;
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    static ParallelRowConverter of(List<? extends ColumnDefinition<?>> columnDefinitions) {
+        return new ParallelRowConverter(RowConverter.compile(columnDefinitions), ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    static ParallelRowConverter of(List<? extends ColumnDefinition<?>> columnDefinitions, int chunkSize) {
+        return new ParallelRowConverter(RowConverter.compile(columnDefinitions), ForkJoinPool.commonPool(), chunkSize);
+    }
+
+    int chunkSize() {
+        return chunkSize;
+    }
+
+    ConversionResult convert(List<ParsedRow> parsedRows) {
+        if (!(parsedRows instanceof RandomAccess)) parsedRows = List.copyOf(parsedRows);
+
+        @SuppressWarnings("unchecked")
+        List<Value>[] rows = new List[parsedRows.size()];
+        var timings = new ChunkTiming[(parsedRows.size() + chunkSize - 1) / chunkSize];
+
+        if (timings.length > 0)
+            pool.invoke(new ConvertChunks(converter.session(), parsedRows, rows, timings, 0, timings.length));
+
+        return new ConversionResult(Collections.unmodifiableList(Arrays.asList(rows)), List.of(timings));
+    }
+
+    private final class ConvertChunks extends RecursiveAction {
+        private final RowConverter session;
+        private final List<ParsedRow> parsedRows;
+        private final List<Value>[] rows;
+        private final ChunkTiming[] timings;
+        private final int fromChunk;
+        private final int toChunk;
+
+        ConvertChunks(RowConverter session, List<ParsedRow> parsedRows, List<Value>[] rows, ChunkTiming[] timings, int fromChunk, int toChunk) {
+            this.session = session;
+            this.parsedRows = parsedRows;
+            this.rows = rows;
+            this.timings = timings;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (toChunk - fromChunk > 1) {
+                int middle = (fromChunk + toChunk) >>> 1;
+                invokeAll(new ConvertChunks(session, parsedRows, rows, timings, fromChunk, middle),
+                        new ConvertChunks(session, parsedRows, rows, timings, middle, toChunk));
+                return;
+            }
+
+            int fromRow = fromChunk * chunkSize;
+            int toRow = Math.min(fromRow + chunkSize, parsedRows.size());
+            var batchEvent = new RowBatchConversionEvent();
+            var burstEvent = new ErrorBurstEvent();
+            batchEvent.begin();
+            burstEvent.begin();
+            long start = System.nanoTime();
+            for (int i = fromRow; i < toRow; i++)
+                rows[i] = session.convert(parsedRows.get(i));
+            IngestionEvents.commitConversion(batchEvent, burstEvent, session, rows, fromRow, toRow, 0);
+            timings[fromChunk] = new ChunkTiming(fromChunk, fromRow, toRow, System.nanoTime() - start, Thread.currentThread().getName());
+        }
+    }
+}
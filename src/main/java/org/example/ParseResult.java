@@ -0,0 +1,29 @@
+package org.example;
+
+/**
+ * Outcome of a parse that does not throw for ordinary bad input. {@link Failure#reason()} should be a constant text;
+ * conversion errors combine it with the input only when their message is requested.
+ */
+sealed interface ParseResult<T> {
+    record Success<T>(T value) implements ParseResult<T> {
+    }
+
+    record Failure<T>(String reason) implements ParseResult<T> {
+    }
+
+    static <T> ParseResult<T> success(T value) {
+        return new Success<>(value);
+    }
+
+    static <T> ParseResult<T> failure(String reason) {
+        return new Failure<>(reason);
+    }
+}
+
+/**
+ * Non-throwing text parser of a custom type.
+ */
+@FunctionalInterface
+interface TextParser<T> {
+    ParseResult<T> tryParse(String text);
+}
@@ -0,0 +1,82 @@
+package org.example;
+
+import rangeCust.IndexSource;
+
+import java.util.BitSet;
+
+/**
+ * Zero-based sheet rows chosen by an {@link IndexSource}. Indices refer to physical sheet rows, so empty rows count
+ * too; negative indices are counted from {@code rowCount}, which is taken from the sheet dimension.
+ */
+final class RowSelection {
+    static final RowSelection ALL = new RowSelection(new BitSet(), 0);
+
+    private final BitSet rows;
+    private final int openFrom;
+
+    /**
+     * @param openFrom every row from this one on is selected as well; {@link Integer#MAX_VALUE} when selection is bounded
+     */
+    private RowSelection(BitSet rows, int openFrom) {
+        this.rows = rows;
+        this.openFrom = openFrom;
+    }
+
+    /**
+     * @param rowCount number of rows in the sheet or a negative number when unknown
+     * @throws IllegalArgumentException when a negative index is used and row count is unknown
+     */
+    static RowSelection of(IndexSource indexSource, int rowCount) {
+        var rows = new BitSet();
+        int openFrom = collect(indexSource, rowCount, rows, Integer.MAX_VALUE);
+        return new RowSelection(rows, openFrom);
+    }
+
+    private static int collect(IndexSource indexSource, int rowCount, BitSet rows, int openFrom) {
+        return switch (indexSource) {
+            case IndexSource.Empty ignored -> openFrom;
+            case IndexSource.WholeRange ignored -> 0;
+            case IndexSource.SingleIndex(var index) -> {
+                int row = normalize(index, rowCount, indexSource);
+                if (row >= 0) rows.set(row);
+                yield openFrom;
+            }
+            case IndexSource.Range(var start, var end) -> {
+                int from = start == null ? 0 : Math.max(normalize(start, rowCount, indexSource), 0);
+                if (end == null) yield Math.min(openFrom, from);
+
+                int to = normalize(end, rowCount, indexSource);
+                if (to >= from) rows.set(from, to + 1);
+                yield openFrom;
+            }
+            case IndexSource.CombiningRange(var elements) -> {
+                for (var element : elements)
+                    openFrom = collect(element, rowCount, rows, openFrom);
+                yield openFrom;
+            }
+        };
+    }
+
+    private static int normalize(int index, int rowCount, IndexSource indexSource) {
+        if (index >= 0) return index;
+        if (rowCount < 0)
+            throw new IllegalArgumentException("Negative row index in " + indexSource + " needs sheet dimension, which is missing");
+        return rowCount + index;
+    }
+
+    boolean includes(int row) {
+        return row >= openFrom || rows.get(row);
+    }
+
+    /**
+     * @return {@code true} when neither this row nor any later one is selected, so reading can stop
+     */
+    boolean isPastEnd(int row) {
+        return openFrom == Integer.MAX_VALUE && row >= rows.length();
+    }
+
+    @Override
+    public String toString() {
+        return openFrom == Integer.MAX_VALUE ? "RowSelection" + rows : "RowSelection" + rows + " and [" + openFrom + ", ..)";
+    }
+}
@@ -0,0 +1,430 @@
+package org.example;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * On-disk cache of ingested sheets. Entries are keyed by SHA-256 of the cache version, workbook content, sheet name and
+ * JSON of the sheet's column definitions, so any change of file, schema or of how sheets are read and stored misses.
+ * When the directory grows over its size limit, least recently used entries are deleted. Entries are written to a
+ * temporary file and moved in place, so concurrent readers never see a partial entry; damaged entries are dropped and
+ * reported as misses.
+ */
+@Slf4j
+final class SheetCache {
+    private static final String EXTENSION = ".sheet";
+    /**
+     * Raise when the entry encoding or the way cells are read and converted changes, so older entries are not reused.
+     */
+    static final int VERSION = 2;
+    private static final ObjectWriter SCHEMA_WRITER = new ObjectMapper()
+            .writerFor(new TypeReference<List<ColumnDefinition<?>>>() {
+            });
+
+    private final Path directory;
+    private final long maxBytes;
+
+    SheetCache(Path directory, long maxBytes) throws IOException {
+        if (maxBytes <= 0) throw new IllegalArgumentException("Cache size limit must be positive: " + maxBytes);
+        this.directory = Files.createDirectories(directory);
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * SHA-256 of the file content as lower case hex.
+     */
+    static String contentHash(Path file) throws IOException {
+        var digest = sha256();
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            var buffer = ByteBuffer.allocate(1 << 20);
+            while (channel.read(buffer) >= 0) {
+                digest.update(buffer.flip());
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    static String key(String contentHash, String sheetName, List<? extends ColumnDefinition<?>> columnDefinitions) {
+        String schema;
+        try {
+            schema = SCHEMA_WRITER.writeValueAsString(columnDefinitions);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Column definitions cannot be serialized: " + e.getMessage(), e);
+        }
+        var digest = sha256();
+        for (var part : List.of(String.valueOf(VERSION), contentHash, sheetName, schema)) {
+            digest.update(part.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    Optional<IngestedSheet> get(String key) {
+        var entry = entry(key);
+        try (var channel = FileChannel.open(entry, StandardOpenOption.READ);
+             var in = new BufferedInputStream(Channels.newInputStream(channel), 1 << 16)) {
+            var sheet = SheetCodec.read(in, channel.size());
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+            return Optional.of(sheet);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Dropping damaged cache entry {}: {}", entry.getFileName(), e.getMessage());
+            deleteQuietly(entry);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Sheets with values that cannot be stored (custom types without encoding) are skipped.
+     */
+    void put(String key, IngestedSheet sheet) throws IOException {
+        var temporary = Files.createTempFile(directory, key, ".tmp");
+        try {
+            try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16))) {
+                SheetCodec.write(out, sheet);
+            }
+            Files.move(temporary, entry(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IllegalStateException e) {
+            log.debug("Sheet '{}' is not cached: {}", sheet.sheetName(), e.getMessage());
+            return;
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        evict();
+    }
+
+    /**
+     * Total size of cache entries in bytes.
+     */
+    long size() throws IOException {
+        return entries().stream().mapToLong(CacheEntry::size).sum();
+    }
+
+    private synchronized void evict() throws IOException {
+        var entries = entries();
+        long total = entries.stream().mapToLong(CacheEntry::size).sum();
+        if (total <= maxBytes) return;
+
+        entries.sort(Comparator.comparing(CacheEntry::lastUsed));
+        for (var entry : entries) {
+            if (total <= maxBytes) break;
+            deleteQuietly(entry.path());
+            total -= entry.size();
+            log.debug("Evicted cache entry {}", entry.path().getFileName());
+        }
+    }
+
+    private List<CacheEntry> entries() throws IOException {
+        var entries = new ArrayList<CacheEntry>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (var file : (Iterable<Path>) files::iterator) {
+                if (!file.getFileName().toString().endsWith(EXTENSION)) continue;
+                try {
+                    entries.add(new CacheEntry(file, Files.size(file), Files.getLastModifiedTime(file)));
+                } catch (NoSuchFileException ignored) {
+                    // removed concurrently
+                }
+            }
+        }
+        return entries;
+    }
+
+    private Path entry(String key) {
+        return directory.resolve(key + EXTENSION);
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Cannot delete cache entry {}: {}", file.getFileName(), e.getMessage());
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record CacheEntry(Path path, long size, FileTime lastUsed) {
+    }
+}
+
+/**
+ * Binary encoding of an {@link IngestedSheet}: header, then every value as a tag byte followed by its payload.
+ * Errors keep their code and message only. Lengths and counts are checked against the bytes left in the entry before
+ * anything is allocated for them, so a damaged entry fails with {@link IOException}.
+ */
+final class SheetCodec {
+    private static final int MAGIC = 0x58505331; // "XPS1"
+
+    private static final byte SIMPLY_BLANK = 0;
+    private static final byte BOOLEAN = 1, BOOLEAN_BLANK = 2, BOOLEAN_ERROR = 3;
+    private static final byte INTEGER = 4, INTEGER_BLANK = 5, INTEGER_ERROR = 6;
+    private static final byte DOUBLE = 7, DOUBLE_BLANK = 8, DOUBLE_ERROR = 9;
+    private static final byte DATE = 10, DATE_BLANK = 11, DATE_ERROR = 12;
+    private static final byte CURRENCY = 13, CURRENCY_BLANK = 14, CURRENCY_ERROR = 15;
+    private static final byte STRING = 16, STRING_BLANK = 17, STRING_ERROR = 18;
+    private static final byte ENUM = 19, ENUM_BLANK = 20, ENUM_ERROR = 21;
+    private static final byte CUSTOM = 22, CUSTOM_BLANK = 23, CUSTOM_ERROR = 24;
+
+    private SheetCodec() {
+    }
+
+    static void write(DataOutput out, IngestedSheet sheet) throws IOException {
+        out.writeInt(MAGIC);
+        writeString(out, sheet.sheetName());
+        out.writeInt(sheet.header().size());
+        for (var name : sheet.header()) writeString(out, name);
+
+        out.writeInt(sheet.rows().size());
+        for (var row : sheet.rows()) {
+            out.writeInt(row.size());
+            for (var value : row) writeValue(out, value);
+        }
+    }
+
+    /**
+     * @param entrySize number of bytes in the entry
+     */
+    static IngestedSheet read(InputStream stream, long entrySize) throws IOException {
+        var entry = new EntryInput(stream, entrySize);
+        var in = new DataInputStream(entry);
+        if (in.readInt() != MAGIC) throw new IOException("Not a cached sheet");
+        var sheetName = readString(in, entry);
+        var header = new ArrayList<String>();
+        for (int i = entry.count(in.readInt(), Integer.BYTES); i > 0; i--) header.add(readString(in, entry));
+
+        int rowCount = entry.count(in.readInt(), Integer.BYTES);
+        var rows = new ArrayList<List<Value>>(rowCount);
+        for (int r = 0; r < rowCount; r++) {
+            int size = entry.count(in.readInt(), 1);
+            var row = new ArrayList<Value>(size);
+            for (int c = 0; c < size; c++) row.add(readValue(in, entry));
+            rows.add(row);
+        }
+        return new IngestedSheet(sheetName, List.copyOf(header), rows);
+    }
+
+    private static void writeValue(DataOutput out, Value value) throws IOException {
+        switch (value) {
+            case SimplyBlank ignored -> out.writeByte(SIMPLY_BLANK);
+
+            case BooleanValue(var v) -> {
+                out.writeByte(BOOLEAN);
+                out.writeBoolean(v);
+            }
+            case BooleanValueBlank ignored -> out.writeByte(BOOLEAN_BLANK);
+            case BooleanValueError(var error) -> writeError(out, BOOLEAN_ERROR, error);
+
+            case IntegerValue(var v) -> {
+                out.writeByte(INTEGER);
+                out.writeInt(v);
+            }
+            case IntegerValueBlank ignored -> out.writeByte(INTEGER_BLANK);
+            case IntegerValueError(var error) -> writeError(out, INTEGER_ERROR, error);
+
+            case DoubleValue(var v) -> {
+                out.writeByte(DOUBLE);
+                out.writeDouble(v);
+            }
+            case DoubleValueBlank ignored -> out.writeByte(DOUBLE_BLANK);
+            case DoubleValueError(var error) -> writeError(out, DOUBLE_ERROR, error);
+
+            case DateValue(var v) -> {
+                out.writeByte(DATE);
+                out.writeLong(v.toEpochDay());
+            }
+            case DateValueBlank ignored -> out.writeByte(DATE_BLANK);
+            case DateValueError(var error) -> writeError(out, DATE_ERROR, error);
+
+            case CurrencyValue(var v) -> {
+                out.writeByte(CURRENCY);
+                writeString(out, v.toString());
+            }
+            case CurrencyValueBlank ignored -> out.writeByte(CURRENCY_BLANK);
+            case CurrencyValueError(var error) -> writeError(out, CURRENCY_ERROR, error);
+
+            case StringValue(var v) -> {
+                out.writeByte(STRING);
+                writeString(out, v);
+            }
+            case StringValueBlank ignored -> out.writeByte(STRING_BLANK);
+            case StringValueError(var error) -> writeError(out, STRING_ERROR, error);
+
+            case EnumValue<?>(var v) -> {
+                out.writeByte(ENUM);
+                writeString(out, typeName(EnumColumnDefinition.ENUM_TYPE_TYPE_MAP, v.getDeclaringClass()));
+                writeString(out, v.name());
+            }
+            case EnumValueBlank ignored -> out.writeByte(ENUM_BLANK);
+            case EnumValueError(var error) -> writeError(out, ENUM_ERROR, error);
+
+            case CustomValue<?>(var v) -> {
+                if (!(v instanceof Price price)) throw ColumnDefinitionCommons.notSupported(v.getClass());
+                out.writeByte(CUSTOM);
+                writeString(out, typeName(CustomColumnDefinition.CUSTOM_TYPE_TYPE_MAP, Price.class));
+                out.writeBoolean(price.isMkt());
+                if (!price.isMkt()) out.writeDouble(price.getNumber());
+            }
+            case CustomValueBlank ignored -> out.writeByte(CUSTOM_BLANK);
+            case CustomValueError(var error) -> writeError(out, CUSTOM_ERROR, error);
+        }
+    }
+
+    private static Value readValue(DataInput in, EntryInput entry) throws IOException {
+        byte tag = in.readByte();
+        return switch (tag) {
+            case SIMPLY_BLANK -> SimplyBlank.INSTANCE;
+
+            case BOOLEAN -> BooleanValue.of(in.readBoolean());
+            case BOOLEAN_BLANK -> BooleanValueBlank.INSTANCE;
+            case BOOLEAN_ERROR -> new BooleanValueError(readError(in, entry));
+
+            case INTEGER -> IntegerValue.of(in.readInt());
+            case INTEGER_BLANK -> IntegerValueBlank.INSTANCE;
+            case INTEGER_ERROR -> new IntegerValueError(readError(in, entry));
+
+            case DOUBLE -> new DoubleValue(in.readDouble());
+            case DOUBLE_BLANK -> DoubleValueBlank.INSTANCE;
+            case DOUBLE_ERROR -> new DoubleValueError(readError(in, entry));
+
+            case DATE -> new DateValue(LocalDate.ofEpochDay(in.readLong()));
+            case DATE_BLANK -> DateValueBlank.INSTANCE;
+            case DATE_ERROR -> new DateValueError(readError(in, entry));
+
+            case CURRENCY -> new CurrencyValue(new BigDecimal(readString(in, entry)));
+            case CURRENCY_BLANK -> CurrencyValueBlank.INSTANCE;
+            case CURRENCY_ERROR -> new CurrencyValueError(readError(in, entry));
+
+            case STRING -> new StringValue(readString(in, entry));
+            case STRING_BLANK -> StringValueBlank.INSTANCE;
+            case STRING_ERROR -> new StringValueError(readError(in, entry));
+
+            case ENUM -> new EnumValue<>(readEnum(in, entry));
+            case ENUM_BLANK -> EnumValueBlank.INSTANCE;
+            case ENUM_ERROR -> new EnumValueError(readError(in, entry));
+
+            case CUSTOM -> {
+                var type = readString(in, entry);
+                if (CustomColumnDefinition.CUSTOM_TYPE_TYPE_MAP.get(type) != Price.class)
+                    throw new IOException("Unknown custom type: " + type);
+                yield new CustomValue<>(in.readBoolean() ? Price.mkt() : Price.of(in.readDouble()));
+            }
+            case CUSTOM_BLANK -> CustomValueBlank.INSTANCE;
+            case CUSTOM_ERROR -> new CustomValueError(readError(in, entry));
+
+            default -> throw new IOException("Unknown value tag: " + tag);
+        };
+    }
+
+    private static Enum<?> readEnum(DataInput in, EntryInput entry) throws IOException {
+        var type = readString(in, entry);
+        var name = readString(in, entry);
+        var enumType = EnumColumnDefinition.ENUM_TYPE_TYPE_MAP.get(type);
+        if (enumType == null) throw new IOException("Unknown enum type: " + type);
+        for (var constant : enumType.getEnumConstants())
+            if (constant.name().equals(name)) return constant;
+        throw new IOException("Unknown " + type + " constant: " + name);
+    }
+
+    private static void writeError(DataOutput out, byte tag, ErrorDetail error) throws IOException {
+        out.writeByte(tag);
+        writeString(out, error.code().name());
+        writeString(out, error.message());
+    }
+
+    private static ErrorDetail readError(DataInput in, EntryInput entry) throws IOException {
+        var code = readString(in, entry);
+        try {
+            return ErrorDetail.restore(ErrorCode.valueOf(code), readString(in, entry));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Unknown error code: " + code, e);
+        }
+    }
+
+    private static String typeName(Map<String, ?> types, Class<?> type) {
+        return types.entrySet().stream().filter(kvp -> type.equals(kvp.getValue())).findFirst()
+                .orElseThrow(() -> ColumnDefinitionCommons.notSupported(type)).getKey();
+    }
+
+    /**
+     * Length-prefixed UTF-8; unlike {@link DataOutput#writeUTF(String)} not limited to 64 KB.
+     */
+    private static void writeString(DataOutput out, String text) throws IOException {
+        var bytes = text.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in, EntryInput entry) throws IOException {
+        var bytes = new byte[entry.count(in.readInt(), 1)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Keeps track of the bytes left in the entry.
+     */
+    private static final class EntryInput extends FilterInputStream {
+        private long remaining;
+
+        EntryInput(InputStream in, long size) {
+            super(in);
+            this.remaining = size;
+        }
+
+        /**
+         * @param minBytes least number of bytes each counted item takes in the entry
+         * @return count when that many items fit in the rest of the entry
+         */
+        int count(int count, int minBytes) throws IOException {
+            if (count < 0 || (long) count * minBytes > remaining)
+                throw new IOException("Damaged entry: " + count + " items do not fit in " + remaining + " remaining bytes");
+            return count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) remaining--;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) remaining -= n;
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            remaining -= skipped;
+            return skipped;
+        }
+    }
+}
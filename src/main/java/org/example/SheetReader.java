@@ -0,0 +1,87 @@
+package org.example;
+
+import org.apache.poi.poifs.filesystem.FileMagic;
+import rangeCust.IndexSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Streaming access to workbook sheets: rows are pushed to a consumer one by one, so memory does not depend on sheet
+ * size. Different sheets of one reader may be read concurrently.
+ */
+sealed interface SheetReader extends AutoCloseable permits XlsxSheetReader, XlsSheetReader {
+    /**
+     * Picks .xlsx or .xls reader by the file signature.
+     */
+    static SheetReader open(InputStream inputStream) throws IOException {
+        long start = IngestionMetrics.start();
+        var event = new WorkbookOpenEvent();
+        event.begin();
+        try {
+            var stream = FileMagic.prepareToCheckMagic(inputStream);
+            var fileMagic = FileMagic.valueOf(stream);
+            SheetReader reader = switch (fileMagic) {
+                case OOXML -> XlsxSheetReader.open(stream);
+                case OLE2 -> XlsSheetReader.open(stream);
+                default -> throw new IOException("Not an Excel workbook");
+            };
+            IngestionEvents.commitOpen(event, "stream", fileMagic.name(), reader);
+            return reader;
+        } finally {
+            IngestionMetrics.stop(IngestionMetrics.Phase.OPEN, start);
+        }
+    }
+
+    /**
+     * Picks .xlsx or .xls reader by the file signature; the file is read in place.
+     */
+    static SheetReader open(Path file) throws IOException {
+        long start = IngestionMetrics.start();
+        var event = new WorkbookOpenEvent();
+        event.begin();
+        try {
+            var fileMagic = FileMagic.valueOf(file.toFile());
+            SheetReader reader = switch (fileMagic) {
+                case OOXML -> XlsxSheetReader.open(file);
+                case OLE2 -> XlsSheetReader.open(file);
+                default -> throw new IOException("Not an Excel workbook: " + file);
+            };
+            IngestionEvents.commitOpen(event, String.valueOf(file.getFileName()), fileMagic.name(), reader);
+            return reader;
+        } finally {
+            IngestionMetrics.stop(IngestionMetrics.Phase.OPEN, start);
+        }
+    }
+
+    List<String> sheetNames() throws IOException;
+
+    /**
+     * @param rows physical sheet rows to read, see {@link RowSelection}; reading stops after the last selected row
+     */
+    void readSheet(int sheetIndex, ColumnProjection projection, IndexSource rows, Consumer<ParsedRow> rowConsumer) throws IOException;
+
+    void readSheet(String sheetName, ColumnProjection projection, IndexSource rows, Consumer<ParsedRow> rowConsumer) throws IOException;
+
+    default void readSheet(int sheetIndex, Consumer<ParsedRow> rowConsumer) throws IOException {
+        readSheet(sheetIndex, ColumnProjection.ALL, rowConsumer);
+    }
+
+    default void readSheet(int sheetIndex, ColumnProjection projection, Consumer<ParsedRow> rowConsumer) throws IOException {
+        readSheet(sheetIndex, projection, IndexSource.all(), rowConsumer);
+    }
+
+    default void readSheet(String sheetName, Consumer<ParsedRow> rowConsumer) throws IOException {
+        readSheet(sheetName, ColumnProjection.ALL, rowConsumer);
+    }
+
+    default void readSheet(String sheetName, ColumnProjection projection, Consumer<ParsedRow> rowConsumer) throws IOException {
+        readSheet(sheetName, projection, IndexSource.all(), rowConsumer);
+    }
+
+    @Override
+    void close() throws IOException;
+}
@@ -6,7 +6,11 @@ sealed interface Blank {
 }
 
 sealed interface ErrorValue {
-    String message();
+    ErrorDetail error();
+
+    default String message() {
+        return error().message();
+    }
 }
 
 sealed interface Value permits BooleanValueBase, CurrencyValueBase, CustomValueBase, DateValueBase, DoubleValueBase, EnumValueBase, IntegerValueBase, SimplyBlank, StringValueBase {
@@ -23,9 +27,18 @@ sealed interface BooleanValueBase extends Value {
 }
 
 record BooleanValue(boolean value) implements BooleanValueBase {
+    public static final BooleanValue TRUE = new BooleanValue(true);
+    public static final BooleanValue FALSE = new BooleanValue(false);
+
+    static BooleanValue of(boolean value) {
+        return value ? TRUE : FALSE;
+    }
 }
 
-record BooleanValueError(String message) implements BooleanValueBase, ErrorValue {
+record BooleanValueError(ErrorDetail error) implements BooleanValueBase, ErrorValue {
+    BooleanValueError(String message) {
+        this(ErrorDetail.of(message));
+    }
 }
 
 final class BooleanValueBlank implements BooleanValueBase, Blank {
@@ -40,10 +53,34 @@ sealed interface IntegerValueBase extends Value {
 
 }
 
+/**
+ * {@link #of(int)} returns shared instances for values from {@code -128} up to the value of system property
+ * {@value Cache#HIGH_PROPERTY} (127 by default), like {@link Integer#valueOf(int)} does.
+ */
 record IntegerValue(int value) implements IntegerValueBase {
+    static IntegerValue of(int value) {
+        return value >= Cache.LOW && value <= Cache.HIGH ? Cache.VALUES[value - Cache.LOW] : new IntegerValue(value);
+    }
+
+    static final class Cache {
+        static final String HIGH_PROPERTY = "org.example.IntegerValue.cache.high";
+        static final int LOW = -128;
+        static final int HIGH = Math.max(Integer.getInteger(HIGH_PROPERTY, 127), 127);
+        private static final IntegerValue[] VALUES = new IntegerValue[HIGH - LOW + 1];
+
+        static {
+            for (int i = 0; i < VALUES.length; i++) VALUES[i] = new IntegerValue(i + LOW);
+        }
+
+        private Cache() {
+        }
+    }
 }
 
-record IntegerValueError(String message) implements IntegerValueBase, ErrorValue {
+record IntegerValueError(ErrorDetail error) implements IntegerValueBase, ErrorValue {
+    IntegerValueError(String message) {
+        this(ErrorDetail.of(message));
+    }
 }
 
 final class IntegerValueBlank implements IntegerValueBase, Blank {
@@ -60,7 +97,10 @@ sealed interface DoubleValueBase extends Value {
 record DoubleValue(double value) implements DoubleValueBase {
 }
 
-record DoubleValueError(String message) implements DoubleValueBase, ErrorValue {
+record DoubleValueError(ErrorDetail error) implements DoubleValueBase, ErrorValue {
+    DoubleValueError(String message) {
+        this(ErrorDetail.of(message));
+    }
 }
 
 final class DoubleValueBlank implements DoubleValueBase, Blank {
@@ -77,7 +117,10 @@ sealed interface DateValueBase extends Value {
 record DateValue(java.time.LocalDate value) implements DateValueBase {
 }
 
-record DateValueError(String message) implements DateValueBase, ErrorValue {
+record DateValueError(ErrorDetail error) implements DateValueBase, ErrorValue {
+    DateValueError(String message) {
+        this(ErrorDetail.of(message));
+    }
 }
 
 final class DateValueBlank implements DateValueBase, Blank {
@@ -94,7 +137,10 @@ sealed interface CurrencyValueBase extends Value {
 record CurrencyValue(BigDecimal value) implements CurrencyValueBase {
 }
 
-record CurrencyValueError(String message) implements CurrencyValueBase, ErrorValue {
+record CurrencyValueError(ErrorDetail error) implements CurrencyValueBase, ErrorValue {
+    CurrencyValueError(String message) {
+        this(ErrorDetail.of(message));
+    }
 }
 
 final class CurrencyValueBlank implements CurrencyValueBase, Blank {
@@ -111,7 +157,10 @@ sealed interface StringValueBase extends Value {
 record StringValue(String value) implements StringValueBase {
 }
 
-record StringValueError(String message) implements StringValueBase, ErrorValue {
+record StringValueError(ErrorDetail error) implements StringValueBase, ErrorValue {
+    StringValueError(String message) {
+        this(ErrorDetail.of(message));
+    }
 }
 
 final class StringValueBlank implements StringValueBase, Blank {
@@ -128,7 +177,10 @@ sealed interface EnumValueBase extends Value {
 record EnumValue<T extends Enum<?>>(T value) implements EnumValueBase {
 }
 
-record EnumValueError(String message) implements EnumValueBase, ErrorValue {
+record EnumValueError(ErrorDetail error) implements EnumValueBase, ErrorValue {
+    EnumValueError(String message) {
+        this(ErrorDetail.of(message));
+    }
 }
 
 final class EnumValueBlank implements EnumValueBase, Blank {
@@ -145,7 +197,10 @@ sealed interface CustomValueBase extends Value {
 record CustomValue<T>(T value) implements CustomValueBase {
 }
 
-record CustomValueError(String message) implements CustomValueBase, ErrorValue {
+record CustomValueError(ErrorDetail error) implements CustomValueBase, ErrorValue {
+    CustomValueError(String message) {
+        this(ErrorDetail.of(message));
+    }
 }
 
 final class CustomValueBlank implements CustomValueBase, Blank {
@@ -0,0 +1,221 @@
+package org.example;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * @param header first non-empty row of the sheet, read as text; empty for columns declared as {@link EmptyColumnDefinition}
+ * @param rows   remaining rows converted with sheet's column definitions
+ */
+record IngestedSheet(String sheetName, List<String> header, List<List<Value>> rows) {
+}
+
+/**
+ * @param sheet      ingested sheet; its rows are empty unless they were kept
+ * @param statistics one entry per column definition
+ */
+record ProfiledSheet(IngestedSheet sheet, List<ColumnStatistics> statistics) {
+}
+
+/**
+ * Reads several sheets of one workbook concurrently. Every sheet is parsed by its own task on given executor
+ * (e.g. {@link java.util.concurrent.Executors#newVirtualThreadPerTaskExecutor()} or a {@link ForkJoinPool}),
+ * so wall-clock time scales with available cores rather than with number of sheets.
+ */
+@Slf4j
+final class WorkbookIngestion {
+    private WorkbookIngestion() {
+    }
+
+    /**
+     * Ingests only sheets present in {@code schemas}, each with its own column definitions.
+     *
+     * @return ingested sheets keyed by sheet name, in the order of {@code schemas}
+     */
+    static Map<String, IngestedSheet> ingest(InputStream inputStream,
+                                             Map<String, ? extends List<? extends ColumnDefinition<?>>> schemas,
+                                             Executor executor) throws IOException {
+        try (var reader = SheetReader.open(inputStream)) {
+            return ingest(reader, schemas, executor);
+        }
+    }
+
+    /**
+     * Same as {@link #ingest(InputStream, Map, Executor)} but reads the file in place.
+     */
+    static Map<String, IngestedSheet> ingest(Path file,
+                                             Map<String, ? extends List<? extends ColumnDefinition<?>>> schemas,
+                                             Executor executor) throws IOException {
+        try (var reader = SheetReader.open(file)) {
+            return ingest(reader, schemas, executor);
+        }
+    }
+
+    /**
+     * Same as {@link #ingest(Path, Map, Executor)} but sheets found in {@code cache} are loaded from there and only
+     * the remaining ones are parsed and then stored in the cache.
+     */
+    static Map<String, IngestedSheet> ingest(Path file,
+                                             Map<String, ? extends List<? extends ColumnDefinition<?>>> schemas,
+                                             Executor executor, SheetCache cache) throws IOException {
+        var contentHash = SheetCache.contentHash(file);
+        var keys = new HashMap<String, String>();
+        var cached = new HashMap<String, IngestedSheet>();
+        var missing = new LinkedHashMap<String, List<? extends ColumnDefinition<?>>>();
+        schemas.forEach((sheetName, columnDefinitions) -> {
+            var key = SheetCache.key(contentHash, sheetName, columnDefinitions);
+            keys.put(sheetName, key);
+            cache.get(key).ifPresentOrElse(sheet -> cached.put(sheetName, sheet), () -> missing.put(sheetName, columnDefinitions));
+        });
+        log.debug("Cache hits for {}: {} of {} sheets", file.getFileName(), cached.size(), schemas.size());
+
+        if (!missing.isEmpty()) {
+            for (var sheet : ingest(file, missing, executor).values()) {
+                cache.put(keys.get(sheet.sheetName()), sheet);
+                cached.put(sheet.sheetName(), sheet);
+            }
+        }
+
+        var result = new LinkedHashMap<String, IngestedSheet>();
+        schemas.keySet().forEach(sheetName -> result.put(sheetName, cached.get(sheetName)));
+        return result;
+    }
+
+    static Map<String, IngestedSheet> ingest(InputStream inputStream,
+                                             Map<String, ? extends List<? extends ColumnDefinition<?>>> schemas) throws IOException {
+        return ingest(inputStream, schemas, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Ingests every sheet of the workbook; {@code schemaForSheet} provides column definitions by sheet name.
+     *
+     * @return ingested sheets keyed by sheet name, in workbook order
+     */
+    static Map<String, IngestedSheet> ingestAll(InputStream inputStream,
+                                                Function<String, ? extends List<? extends ColumnDefinition<?>>> schemaForSheet,
+                                                Executor executor) throws IOException {
+        try (var reader = SheetReader.open(inputStream)) {
+            var schemas = new LinkedHashMap<String, List<? extends ColumnDefinition<?>>>();
+            for (var sheetName : reader.sheetNames())
+                schemas.put(sheetName, schemaForSheet.apply(sheetName));
+            return ingest(reader, schemas, executor);
+        }
+    }
+
+    static Map<String, IngestedSheet> ingest(SheetReader reader,
+                                             Map<String, ? extends List<? extends ColumnDefinition<?>>> schemas,
+                                             Executor executor) throws IOException {
+        return forEachSheet(reader, schemas, executor, WorkbookIngestion::ingestSheet);
+    }
+
+    /**
+     * Same as {@link #ingest(Path, Map, Executor)} but every sheet is profiled while its rows are converted, so
+     * statistics cost no extra pass over the file.
+     *
+     * @param keepRows whether converted rows are returned as well; without them memory does not depend on sheet size
+     */
+    static Map<String, ProfiledSheet> profile(Path file,
+                                              Map<String, ? extends List<? extends ColumnDefinition<?>>> schemas,
+                                              Executor executor, boolean keepRows) throws IOException {
+        try (var reader = SheetReader.open(file)) {
+            return forEachSheet(reader, schemas, executor, (source, sheetName, converter) -> {
+                var profiler = new ColumnProfiler(converter.columnDefinitions());
+                var rows = new ArrayList<List<Value>>();
+                var header = readSheet(source, sheetName, converter, keepRows ? profiler.andThen(rows::add) : profiler);
+                return new ProfiledSheet(new IngestedSheet(sheetName, header, rows), profiler.statistics());
+            });
+        }
+    }
+
+    @FunctionalInterface
+    private interface SheetTask<T> {
+        T run(RowSource source, String sheetName, RowConverter converter);
+    }
+
+    /**
+     * Runs the task of every sheet on {@code executor}; column definitions are compiled on the calling thread. The
+     * first failing sheet stops the others: tasks not started yet are skipped and running ones end at their next row.
+     * Returns (or throws) only once no task reads from {@code reader} any more.
+     */
+    private static <T> Map<String, T> forEachSheet(SheetReader reader, Map<String, ? extends List<? extends ColumnDefinition<?>>> schemas,
+                                                   Executor executor, SheetTask<T> task) throws IOException {
+        var firstFailure = new CompletableFuture<Throwable>();
+        var tasks = new LinkedHashMap<String, CompletableFuture<T>>();
+        schemas.forEach((sheetName, columnDefinitions) -> {
+            var converter = RowConverter.compile(columnDefinitions);
+            var projection = ColumnProjection.from(columnDefinitions);
+            RowSource source = rowConsumer -> reader.readSheet(sheetName, projection, parsedRow -> {
+                if (firstFailure.isDone()) throw new CancellationException("Another sheet failed");
+                rowConsumer.accept(parsedRow);
+            });
+            tasks.put(sheetName, CompletableFuture.supplyAsync(() -> {
+                if (firstFailure.isDone()) throw new CancellationException("Another sheet failed");
+                return task.run(source, sheetName, converter);
+            }, executor).whenComplete((result, e) -> {
+                if (e != null) firstFailure.complete(e instanceof CompletionException ce ? ce.getCause() : e);
+            }));
+        });
+
+        CompletableFuture.allOf(tasks.values().toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+        if (firstFailure.getNow(null) instanceof Throwable failure) {
+            if (failure instanceof UncheckedIOException io) throw io.getCause();
+            if (failure instanceof RuntimeException re) throw re;
+            if (failure instanceof Error error) throw error;
+            throw new IOException(failure);
+        }
+
+        var result = new LinkedHashMap<String, T>();
+        tasks.forEach((sheetName, sheetTask) -> result.put(sheetName, sheetTask.join()));
+        return result;
+    }
+
+    /**
+     * First row of {@code source} becomes the header, remaining ones are converted.
+     *
+     * @throws UncheckedIOException when the source fails
+     */
+    static IngestedSheet ingestSheet(RowSource source, String sheetName, RowConverter converter) {
+        var rows = new ArrayList<List<Value>>();
+        var header = readSheet(source, sheetName, converter, rows::add);
+        log.debug("Sheet '{}' ingested: {} rows", sheetName, rows.size());
+        return new IngestedSheet(sheetName, header, rows);
+    }
+
+    /**
+     * @param rowSink receives every converted row after the header
+     * @return header
+     */
+    private static List<String> readSheet(RowSource source, String sheetName, RowConverter converter, Consumer<List<Value>> rowSink) {
+        var header = new ArrayList<String>();
+        try {
+            source.read(parsedRow -> {
+                if (header.isEmpty()) header.addAll(readHeader(parsedRow));
+                else rowSink.accept(converter.convert(parsedRow));
+            });
+        } catch (IOException e) {
+            log.error("Error reading sheet '{}': {}", sheetName, e.getMessage());
+            throw new UncheckedIOException(e);
+        }
+        return List.copyOf(header);
+    }
+
+    private static final ColumnParser<StringValueBase> HEADER_PARSER = new StringColumnParser("");
+
+    static List<String> readHeader(ParsedRow parsedRow) {
+        return parsedRow.cellValues().stream()
+                .map(cellValue -> HEADER_PARSER.parse(cellValue) instanceof StringValue(var text) ? text : "")
+                .toList();
+    }
+}
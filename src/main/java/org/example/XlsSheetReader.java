@@ -0,0 +1,385 @@
+package org.example;
+
+import org.apache.poi.hssf.eventusermodel.AbortableHSSFListener;
+import org.apache.poi.hssf.eventusermodel.EventWorkbookBuilder.SheetRecordCollectingListener;
+import org.apache.poi.hssf.eventusermodel.HSSFEventFactory;
+import org.apache.poi.hssf.eventusermodel.HSSFRequest;
+import org.apache.poi.hssf.eventusermodel.HSSFUserException;
+import org.apache.poi.hssf.model.HSSFFormulaParser;
+import org.apache.poi.hssf.record.*;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.poifs.filesystem.DocumentInputStream;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.formula.Formula;
+import org.apache.poi.ss.usermodel.BuiltinFormats;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.util.CellAddress;
+import rangeCust.IndexSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Streaming reader for legacy .xls sheets built on POI's HSSF event API.
+ * Workbook globals (sheet list, shared strings, number formats) are read once on open; reading a sheet seeks straight
+ * to its records and pushes rows to a consumer one by one, so memory does not depend on sheet size.
+ * Cell types are mapped with the same rules as {@code Main.getCellValue}.
+ * Every read opens its own view of the file, so different sheets may be read concurrently.
+ */
+final class XlsSheetReader implements SheetReader {
+    private static final short CONTINUE = 0;
+    private static final short STOP = 1;
+
+    private final Path file;
+    private final Path spooledFile;
+    private final List<BoundSheetRecord> sheets;
+    private final SSTRecord sharedStrings;
+    private final StringCellValue[] sharedStringCells;
+    private final DateStyleCache dateStyles;
+    private final boolean date1904;
+    private final FormulaRenderer formulaRenderer;
+
+    private XlsSheetReader(Path file, Path spooledFile) throws IOException {
+        this.file = file;
+        this.spooledFile = spooledFile;
+
+        var globals = new GlobalsListener();
+        process(0, globals);
+
+        this.formulaRenderer = new FormulaRenderer(globals.records);
+        this.sheets = List.of(globals.records.getBoundSheetRecords());
+        this.sharedStrings = globals.records.getSSTRecord();
+        this.sharedStringCells = new StringCellValue[sharedStrings != null ? sharedStrings.getNumUniqueStrings() : 0];
+        this.dateStyles = DateStyleCache.of(globals.styleFormats.stream().mapToInt(Integer::intValue).toArray(),
+                format -> globals.customFormats.getOrDefault(format, BuiltinFormats.getBuiltinFormat(format)));
+        this.date1904 = globals.date1904;
+    }
+
+    /**
+     * Workbook is spooled to a temporary file so that records are read on demand instead of being buffered on heap.
+     */
+    static XlsSheetReader open(InputStream inputStream) throws IOException {
+        var spooledFile = Files.createTempFile("xls-reader", ".xls");
+        try {
+            Files.copy(inputStream, spooledFile, StandardCopyOption.REPLACE_EXISTING);
+            return new XlsSheetReader(spooledFile, spooledFile);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spooledFile);
+            throw e;
+        }
+    }
+
+    /**
+     * Opens the file in place, records are read on demand.
+     */
+    static XlsSheetReader open(Path file) throws IOException {
+        return new XlsSheetReader(file, null);
+    }
+
+    @Override
+    public List<String> sheetNames() {
+        return sheets.stream().map(BoundSheetRecord::getSheetname).toList();
+    }
+
+    @Override
+    public void readSheet(int sheetIndex, ColumnProjection projection, IndexSource rows, Consumer<ParsedRow> rowConsumer) throws IOException {
+        if (sheetIndex < 0 || sheetIndex >= sheets.size())
+            throw new IllegalArgumentException("Sheet index (" + sheetIndex + ") is out of range");
+        readSheet(sheets.get(sheetIndex), projection, rows, rowConsumer);
+    }
+
+    @Override
+    public void readSheet(String sheetName, ColumnProjection projection, IndexSource rows, Consumer<ParsedRow> rowConsumer) throws IOException {
+        for (var sheet : sheets) {
+            if (sheet.getSheetname().equals(sheetName)) {
+                readSheet(sheet, projection, rows, rowConsumer);
+                return;
+            }
+        }
+        throw new IllegalArgumentException("Sheet '" + sheetName + "' does not exist");
+    }
+
+    private void readSheet(BoundSheetRecord sheet, ColumnProjection projection, IndexSource rows,
+                           Consumer<ParsedRow> rowConsumer) throws IOException {
+        long start = IngestionMetrics.start();
+        var event = new SheetReadEvent();
+        event.begin();
+        try {
+            var consumer = IngestionEvents.countingRows(event, IngestionMetrics.countingRows(rowConsumer));
+            process(sheet.getPositionOfBof(), new SheetListener(projection, rows, consumer));
+        } finally {
+            IngestionMetrics.stop(IngestionMetrics.Phase.READ, start);
+            event.commit(sheet.getSheetname(), "OLE2");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (spooledFile != null) Files.deleteIfExists(spooledFile);
+    }
+
+    /**
+     * Feeds records of the workbook stream, starting with the substream at {@code position}, until listener stops.
+     */
+    private void process(int position, AbortableHSSFListener listener) throws IOException {
+        try (var fileSystem = new POIFSFileSystem(file.toFile(), true);
+             var stream = workbookStream(fileSystem)) {
+            stream.skipNBytes(position);
+            var request = new HSSFRequest();
+            request.addListenerForAllRecords(listener);
+            new HSSFEventFactory().abortableProcessEvents(request, IngestionMetrics.countingBytes(stream));
+        } catch (HSSFUserException e) {
+            throw new IOException("Cannot read workbook: " + e.getMessage(), e);
+        }
+    }
+
+    private static DocumentInputStream workbookStream(POIFSFileSystem fileSystem) throws IOException {
+        try {
+            return fileSystem.createDocumentInputStream(HSSFWorkbook.getWorkbookDirEntryName(fileSystem.getRoot()));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Cannot open workbook: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Same sharing of decoded shared strings as in {@link XlsxSheetReader}.
+     */
+    private StringCellValue sharedStringCell(int index) {
+        if (index >= sharedStringCells.length)
+            return new StringCellValue(sharedStrings.getString(index).getString());
+
+        var cell = sharedStringCells[index];
+        if (cell == null)
+            sharedStringCells[index] = cell = new StringCellValue(sharedStrings.getString(index).getString());
+        return cell;
+    }
+
+    /**
+     * Formula text is needed only in messages of error cells, so encoded tokens are kept and rendered when the message
+     * is built. Shared formulas are stored as a reference to another record and are reported without text.
+     */
+    private DeferredText formulaText(FormulaRecord formula) {
+        var encoded = formula.getFormula();
+        var renderer = formulaRenderer;
+        return () -> renderer.render(encoded);
+    }
+
+    /**
+     * Holds only global records, so pending error messages do not keep the reader reachable; the stub workbook
+     * resolving sheet references is built on first use.
+     */
+    private static final class FormulaRenderer {
+        private final SheetRecordCollectingListener globalRecords;
+        private HSSFWorkbook workbook;
+
+        FormulaRenderer(SheetRecordCollectingListener globalRecords) {
+            this.globalRecords = globalRecords;
+        }
+
+        synchronized String render(Formula formula) {
+            try {
+                if (workbook == null) workbook = globalRecords.getStubHSSFWorkbook();
+                return HSSFFormulaParser.toFormulaString(workbook, formula.getTokens());
+            } catch (RuntimeException e) {
+                return null;
+            }
+        }
+    }
+
+    private static final class GlobalsListener extends AbortableHSSFListener {
+        private final SheetRecordCollectingListener records = new SheetRecordCollectingListener(null);
+        private final Map<Integer, String> customFormats = new HashMap<>();
+        private final List<Integer> styleFormats = new ArrayList<>();
+        private boolean date1904;
+        private int depth;
+
+        @Override
+        public short abortableProcessRecord(org.apache.poi.hssf.record.Record record) {
+            switch (record) {
+                case BOFRecord ignored -> depth++;
+                case EOFRecord ignored -> {
+                    if (--depth == 0) return STOP;
+                }
+                case FormatRecord format -> customFormats.put(format.getIndexCode(), format.getFormatString());
+                case ExtendedFormatRecord style -> styleFormats.add(Short.toUnsignedInt(style.getFormatIndex()));
+                case DateWindow1904Record window -> date1904 = window.getWindowing() == 1;
+                default -> {
+                }
+            }
+            records.processRecordInternally(record);
+            return CONTINUE;
+        }
+    }
+
+    private final class SheetListener extends AbortableHSSFListener {
+        private final ColumnProjection projection;
+        private final IndexSource rows;
+        private final Consumer<ParsedRow> rowConsumer;
+
+        private final List<CellValue> rowCells = new ArrayList<>();
+        private boolean rowHasContent;
+        private int rowIndex = -1;
+        private int rowWidth;
+        private int rowCount = -1;
+        private RowSelection rowSelection;
+        private boolean skipRow;
+        private int depth;
+        private int pendingStringColumn = -1;
+
+        SheetListener(ColumnProjection projection, IndexSource rows, Consumer<ParsedRow> rowConsumer) {
+            this.projection = projection;
+            this.rows = rows;
+            this.rowConsumer = rowConsumer;
+        }
+
+        @Override
+        public short abortableProcessRecord(org.apache.poi.hssf.record.Record record) {
+            switch (record) {
+                case BOFRecord ignored -> depth++;
+                case EOFRecord ignored -> {
+                    if (--depth == 0) {
+                        endRow();
+                        return STOP;
+                    }
+                }
+                case DimensionsRecord dimensions -> {
+                    if (depth == 1) rowCount = dimensions.getLastRow();
+                }
+                case StringRecord string -> {
+                    if (pendingStringColumn >= 0) setCell(pendingStringColumn, new StringCellValue(string.getString()));
+                    pendingStringColumn = -1;
+                }
+                case CellValueRecordInterface cell -> {
+                    if (depth == 1 && !startCell(cell)) return STOP;
+                }
+                case MulBlankRecord blanks -> {
+                    if (depth == 1 && !startBlanks(blanks)) return STOP;
+                }
+                default -> {
+                }
+            }
+            return CONTINUE;
+        }
+
+        /**
+         * @return false when the cell is past the last selected row
+         */
+        private boolean startCell(CellValueRecordInterface cell) {
+            int column = cell.getColumn();
+            if (!startRow(cell.getRow())) return false;
+            if (skipRow) return true;
+
+            rowWidth = Math.max(rowWidth, column + 1);
+            if (!projection.includes(column)) return true;
+
+            var cellValue = toCellValue(cell);
+            setCell(column, cellValue);
+            if (!rowHasContent) rowHasContent = cell instanceof FormulaRecord || hasContent(cellValue);
+            return true;
+        }
+
+        /**
+         * Run of formatted blank cells; like a {@link BlankRecord} each of them widens the row but adds no content.
+         *
+         * @return false when the cells are past the last selected row
+         */
+        private boolean startBlanks(MulBlankRecord blanks) {
+            if (!startRow(blanks.getRow())) return false;
+            if (!skipRow) rowWidth = Math.max(rowWidth, blanks.getLastColumn() + 1);
+            return true;
+        }
+
+        /**
+         * @return false when the row is past the last selected row
+         */
+        private boolean startRow(int row) {
+            pendingStringColumn = -1;
+            if (row == rowIndex) return true;
+
+            endRow();
+            if (rowSelection == null)
+                rowSelection = rows instanceof IndexSource.WholeRange ? RowSelection.ALL : RowSelection.of(rows, rowCount);
+            if (rowSelection.isPastEnd(row)) return false;
+            rowIndex = row;
+            skipRow = !rowSelection.includes(row);
+            rowWidth = 0;
+            return true;
+        }
+
+        private void setCell(int column, CellValue cellValue) {
+            while (rowCells.size() < column) rowCells.add(EmptyCellValue.INSTANCE);
+            if (rowCells.size() == column) rowCells.add(cellValue);
+            else rowCells.set(column, cellValue);
+        }
+
+        private void endRow() {
+            if (rowHasContent) {
+                while (rowCells.size() < rowWidth) rowCells.add(EmptyCellValue.INSTANCE);
+                rowConsumer.accept(new ParsedRow(new ArrayList<>(rowCells)));
+            }
+            rowCells.clear();
+            rowHasContent = false;
+        }
+
+        private CellValue toCellValue(CellValueRecordInterface cell) {
+            return switch (cell) {
+                case NumberRecord number -> numberCell(number.getXFIndex(), number.getValue());
+                case LabelSSTRecord label -> sharedStringCell(label.getSSTIndex());
+                case LabelRecord label -> new StringCellValue(label.getValue());
+                case BoolErrRecord boolErr -> boolErr.isBoolean()
+                        ? BooleanCellValue.of(boolErr.getBooleanValue())
+                        : new ErrorCellValue(ErrorDetail.of(ErrorCode.CELL_ERROR, FormulaError.forInt(boolErr.getErrorValue()).getString(),
+                        new CellAddress(cell.getRow(), cell.getColumn())));
+                case FormulaRecord formula -> formulaCell(formula);
+                default -> EmptyCellValue.INSTANCE;
+            };
+        }
+
+        /**
+         * Text result of a formula follows in a separate {@link StringRecord}.
+         */
+        private CellValue formulaCell(FormulaRecord formula) {
+            return switch (formula.getCachedResultTypeEnum()) {
+                case NUMERIC -> numberCell(formula.getXFIndex(), formula.getValue());
+                case STRING -> {
+                    pendingStringColumn = formula.getColumn();
+                    yield EmptyCellValue.INSTANCE;
+                }
+                case BOOLEAN -> BooleanCellValue.of(formula.getCachedBooleanValue());
+                case BLANK -> EmptyCellValue.INSTANCE;
+                case ERROR -> new ErrorCellValue(ErrorDetail.of(ErrorCode.CELL_ERROR, FormulaError.forInt(formula.getCachedErrorValue()).getString(),
+                        new CellAddress(formula.getRow(), formula.getColumn()), formulaText(formula)));
+                default -> new ErrorCellValue(ErrorDetail.of(ErrorCode.UNKNOWN_FORMULA, null, new CellAddress(formula.getRow(), formula.getColumn())));
+            };
+        }
+
+        private CellValue numberCell(short styleIndex, double value) {
+            return dateStyles.isDateFormatted(Short.toUnsignedInt(styleIndex), value)
+                    ? new DateCellValue(DateUtil.getLocalDateTime(value, date1904).toLocalDate())
+                    : new NumberCellValue(value);
+        }
+
+        /**
+         * Mirrors {@code Main.isCellEmpty}; formula cells are handled by the caller.
+         */
+        private static boolean hasContent(CellValue cellValue) {
+            return switch (cellValue) {
+                case StringCellValue(var value) -> !value.isEmpty();
+                case NumberCellValue ignored -> true;
+                case DateCellValue ignored -> true;
+                case BooleanCellValue ignored -> true;
+                case ErrorCellValue ignored -> false;
+                case EmptyCellValue ignored -> false;
+            };
+        }
+    }
+}
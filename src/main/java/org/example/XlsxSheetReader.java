@@ -0,0 +1,450 @@
+package org.example;
+
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.openxml4j.util.ZipFileZipEntrySource;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+import rangeCust.IndexSource;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Streaming reader for .xlsx sheets built on POI's XSSF event API.
+ * Rows are pushed to a consumer one by one, so memory does not depend on sheet size.
+ * Cell types are mapped with the same rules as {@code Main.getCellValue}.
+ * Shared strings and styles are loaded once; different sheets may be read concurrently.
+ */
+final class XlsxSheetReader implements SheetReader {
+    private final OPCPackage pkg;
+    private final Path spooledFile;
+    private final XSSFReader reader;
+    private final SharedStrings sharedStrings;
+    private final StringCellValue[] sharedStringCells;
+    private final DateStyleCache dateStyles;
+    private final boolean date1904;
+
+    private XlsxSheetReader(OPCPackage pkg, Path spooledFile) throws IOException {
+        this.pkg = pkg;
+        this.spooledFile = spooledFile;
+        try {
+            this.reader = new XSSFReader(pkg);
+            reader.setUseReadOnlySharedStringsTable(true);
+            this.sharedStrings = reader.getSharedStringsTable();
+            this.sharedStringCells = new StringCellValue[sharedStrings != null ? Math.max(sharedStrings.getUniqueCount(), 0) : 0];
+            this.dateStyles = DateStyleCache.of(reader.getStylesTable());
+            this.date1904 = isDate1904(reader.getWorkbookData());
+        } catch (OpenXML4JException e) {
+            throw new IOException("Cannot open workbook: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Package is spooled to a temporary file so that zip entries are read on demand instead of being buffered on heap.
+     */
+    static XlsxSheetReader open(InputStream inputStream) throws IOException {
+        var spooledFile = Files.createTempFile("xlsx-reader", ".xlsx");
+        try {
+            Files.copy(inputStream, spooledFile, StandardCopyOption.REPLACE_EXISTING);
+            return open(spooledFile, spooledFile);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spooledFile);
+            throw e;
+        }
+    }
+
+    /**
+     * Opens the file in place, zip entries are read on demand.
+     */
+    static XlsxSheetReader open(Path file) throws IOException {
+        return open(file, null);
+    }
+
+    /**
+     * Zip entries are read on demand with positional reads from the channel. Reader takes ownership of the channel
+     * and closes it on {@link #close()}.
+     */
+    static XlsxSheetReader open(FileChannel channel) throws IOException {
+        var zipFile = ZipFile.builder().setSeekableByteChannel(channel).get();
+        OPCPackage pkg;
+        try {
+            pkg = OPCPackage.open(new ZipFileZipEntrySource(zipFile));
+        } catch (InvalidFormatException e) {
+            zipFile.close();
+            throw new IOException("Cannot open workbook: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            zipFile.close();
+            throw e;
+        }
+        return open(pkg, null);
+    }
+
+    private static XlsxSheetReader open(Path file, Path spooledFile) throws IOException {
+        OPCPackage pkg;
+        try {
+            pkg = OPCPackage.open(file.toFile(), PackageAccess.READ);
+        } catch (OpenXML4JException e) {
+            throw new IOException("Cannot open workbook: " + e.getMessage(), e);
+        }
+        return open(pkg, spooledFile);
+    }
+
+    private static XlsxSheetReader open(OPCPackage pkg, Path spooledFile) throws IOException {
+        try {
+            return new XlsxSheetReader(pkg, spooledFile);
+        } catch (IOException | RuntimeException e) {
+            pkg.revert();
+            throw e;
+        }
+    }
+
+    @Override
+    public List<String> sheetNames() throws IOException {
+        var names = new ArrayList<String>();
+        try {
+            var sheets = reader.getSheetIterator();
+            while (sheets.hasNext()) {
+                try (var ignored = sheets.next()) {
+                    names.add(sheets.getSheetName());
+                }
+            }
+        } catch (OpenXML4JException e) {
+            throw new IOException("Cannot list sheets: " + e.getMessage(), e);
+        }
+        return names;
+    }
+
+    @Override
+    public void readSheet(int sheetIndex, ColumnProjection projection, IndexSource rows, Consumer<ParsedRow> rowConsumer) throws IOException {
+        try {
+            var sheets = reader.getSheetIterator();
+            for (int i = 0; sheets.hasNext(); i++) {
+                try (var sheetData = sheets.next()) {
+                    if (i == sheetIndex) {
+                        parseSheet(sheets.getSheetName(), sheetData, projection, rows, rowConsumer);
+                        return;
+                    }
+                }
+            }
+        } catch (OpenXML4JException e) {
+            throw new IOException("Cannot read sheet " + sheetIndex + ": " + e.getMessage(), e);
+        }
+        throw new IllegalArgumentException("Sheet index (" + sheetIndex + ") is out of range");
+    }
+
+    @Override
+    public void readSheet(String sheetName, ColumnProjection projection, IndexSource rows, Consumer<ParsedRow> rowConsumer) throws IOException {
+        try {
+            var sheets = reader.getSheetIterator();
+            while (sheets.hasNext()) {
+                try (var sheetData = sheets.next()) {
+                    if (sheets.getSheetName().equals(sheetName)) {
+                        parseSheet(sheets.getSheetName(), sheetData, projection, rows, rowConsumer);
+                        return;
+                    }
+                }
+            }
+        } catch (OpenXML4JException e) {
+            throw new IOException("Cannot read sheet " + sheetName + ": " + e.getMessage(), e);
+        }
+        throw new IllegalArgumentException("Sheet '" + sheetName + "' does not exist");
+    }
+
+    private void parseSheet(String sheetName, InputStream sheetData, ColumnProjection projection, IndexSource rows,
+                            Consumer<ParsedRow> rowConsumer) throws IOException {
+        long start = IngestionMetrics.start();
+        var event = new SheetReadEvent();
+        event.begin();
+        try {
+            var consumer = IngestionEvents.countingRows(event, IngestionMetrics.countingRows(rowConsumer));
+            parse(IngestionMetrics.countingBytes(sheetData), new SheetHandler(projection, rows, consumer));
+        } finally {
+            IngestionMetrics.stop(IngestionMetrics.Phase.READ, start);
+            event.commit(sheetName, "OOXML");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            pkg.revert();
+        } finally {
+            if (spooledFile != null) Files.deleteIfExists(spooledFile);
+        }
+    }
+
+    /**
+     * Every shared string is decoded once per file and the same cell instance is handed out for all cells that refer
+     * to it, which lets string and enum parsers recognise repeated values cheaply. Racing threads may both decode
+     * the same entry; records are immutable, so either instance is fine.
+     */
+    private StringCellValue sharedStringCell(int index) {
+        if (index >= sharedStringCells.length)
+            return new StringCellValue(sharedStrings.getItemAt(index).getString());
+
+        var cell = sharedStringCells[index];
+        if (cell == null)
+            sharedStringCells[index] = cell = new StringCellValue(sharedStrings.getItemAt(index).getString());
+        return cell;
+    }
+
+    private static boolean isDate1904(InputStream workbookData) throws IOException {
+        var handler = new DefaultHandler() {
+            boolean date1904;
+
+            @Override
+            public void startElement(String uri, String localName, String qName, Attributes attributes) {
+                if ("workbookPr".equals(localName)) {
+                    var value = attributes.getValue("date1904");
+                    date1904 = "1".equals(value) || "true".equalsIgnoreCase(value);
+                }
+            }
+        };
+        try (workbookData) {
+            parse(workbookData, handler);
+        }
+        return handler.date1904;
+    }
+
+    private static void parse(InputStream data, DefaultHandler handler) throws IOException {
+        try {
+            XMLReader xmlReader = XMLHelper.newXMLReader();
+            xmlReader.setContentHandler(handler);
+            xmlReader.parse(new InputSource(data));
+        } catch (StopReading ignored) {
+            // all selected rows were read
+        } catch (SAXException | ParserConfigurationException e) {
+            throw new IOException("Cannot parse sheet XML: " + e.getMessage(), e);
+        }
+    }
+
+    private static final class StopReading extends SAXException {
+        private static final StopReading INSTANCE = new StopReading();
+
+        private StopReading() {
+            super("Reading stopped after last selected row");
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    private final class SheetHandler extends DefaultHandler {
+        private final ColumnProjection projection;
+        private final IndexSource rows;
+        private final Consumer<ParsedRow> rowConsumer;
+        private final StringBuilder text = new StringBuilder(64);
+        private final StringBuilder formula = new StringBuilder(64);
+
+        private final List<CellValue> rowCells = new ArrayList<>();
+        private boolean rowHasContent;
+        private int rowIndex = -1;
+        private int columnIndex;
+        private int rowWidth;
+        private int rowCount = -1;
+        private RowSelection rowSelection = RowSelection.ALL;
+        private boolean skipRow;
+
+        private boolean skipCell;
+        private String cellReference;
+        private String cellType;
+        private int cellStyle;
+        private boolean hasValue;
+        private boolean hasFormula;
+        private boolean collectingValue;
+        private boolean collectingFormula;
+        private boolean inPhoneticRun;
+
+        SheetHandler(ColumnProjection projection, IndexSource rows, Consumer<ParsedRow> rowConsumer) {
+            this.projection = projection;
+            this.rows = rows;
+            this.rowConsumer = rowConsumer;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+            if (skipRow && !"row".equals(localName)) return;
+
+            switch (localName) {
+                case "dimension" -> rowCount = dimensionRowCount(attributes.getValue("ref"));
+                case "sheetData" -> {
+                    if (!(rows instanceof IndexSource.WholeRange)) rowSelection = RowSelection.of(rows, rowCount);
+                }
+                case "row" -> {
+                    var r = attributes.getValue("r");
+                    rowIndex = r != null ? Integer.parseInt(r) - 1 : rowIndex + 1;
+                    if (rowSelection.isPastEnd(rowIndex)) throw StopReading.INSTANCE;
+                    skipRow = !rowSelection.includes(rowIndex);
+                    rowCells.clear();
+                    rowHasContent = false;
+                    columnIndex = -1;
+                    rowWidth = 0;
+                }
+                case "c" -> {
+                    cellReference = attributes.getValue("r");
+                    columnIndex = cellReference != null ? columnIndex(cellReference) : columnIndex + 1;
+                    rowWidth = Math.max(rowWidth, columnIndex + 1);
+                    skipCell = !projection.includes(columnIndex);
+                    if (skipCell) return;
+                    if (cellReference == null)
+                        cellReference = new CellReference(rowIndex, columnIndex).formatAsString(false);
+                    cellType = attributes.getValue("t");
+                    var s = attributes.getValue("s");
+                    cellStyle = s != null ? Integer.parseInt(s) : 0;
+                    hasValue = false;
+                    hasFormula = false;
+                    text.setLength(0);
+                    formula.setLength(0);
+                }
+                case "v" -> {
+                    hasValue = true;
+                    collectingValue = !skipCell;
+                }
+                case "t" -> {
+                    if (!inPhoneticRun && !skipCell) {
+                        hasValue = true;
+                        collectingValue = true;
+                    }
+                }
+                case "rPh" -> inPhoneticRun = true;
+                case "f" -> {
+                    hasFormula = true;
+                    collectingFormula = !skipCell;
+                }
+                default -> {
+                }
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            if (skipRow) {
+                skipRow = !"row".equals(localName);
+                return;
+            }
+
+            switch (localName) {
+                case "v", "t" -> collectingValue = false;
+                case "rPh" -> inPhoneticRun = false;
+                case "f" -> collectingFormula = false;
+                case "c" -> endCell();
+                case "row" -> endRow();
+                default -> {
+                }
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (collectingValue) text.append(ch, start, length);
+            else if (collectingFormula) formula.append(ch, start, length);
+        }
+
+        private void endCell() {
+            if (skipCell) return;
+            var cellValue = toCellValue();
+
+            while (rowCells.size() < columnIndex) rowCells.add(EmptyCellValue.INSTANCE);
+            if (rowCells.size() == columnIndex) rowCells.add(cellValue);
+            else rowCells.set(columnIndex, cellValue);
+
+            if (!rowHasContent) rowHasContent = hasContent(cellValue);
+        }
+
+        private void endRow() {
+            if (rowHasContent) {
+                while (rowCells.size() < rowWidth) rowCells.add(EmptyCellValue.INSTANCE);
+                rowConsumer.accept(new ParsedRow(new ArrayList<>(rowCells)));
+            }
+            rowCells.clear();
+        }
+
+        private CellValue toCellValue() {
+            if (!hasValue) return EmptyCellValue.INSTANCE;
+
+            var value = text.toString();
+            return switch (cellType == null ? "n" : cellType) {
+                case "s" -> sharedStringCell(Integer.parseInt(value.trim()));
+                case "inlineStr", "str", "d" -> new StringCellValue(value);
+                case "b" -> BooleanCellValue.of("1".equals(value.trim()) || "true".equalsIgnoreCase(value.trim()));
+                case "e" -> new ErrorCellValue(ErrorDetail.of(ErrorCode.CELL_ERROR, value, cellReference,
+                        hasFormula && !formula.isEmpty() ? formula.toString() : null));
+                case "n" -> {
+                    if (value.isBlank()) yield EmptyCellValue.INSTANCE;
+
+                    double num = Double.parseDouble(value);
+                    yield dateStyles.isDateFormatted(cellStyle, num)
+                            ? new DateCellValue(DateUtil.getLocalDateTime(num, date1904).toLocalDate())
+                            : new NumberCellValue(num);
+                }
+                default -> new ErrorCellValue(ErrorDetail.of(ErrorCode.UNKNOWN_CELL_TYPE, cellType, cellReference));
+            };
+        }
+
+        /**
+         * Number of rows from the last cell of a {@code <dimension ref="A1:J100"/>} range, or -1 when it is absent.
+         */
+        private static int dimensionRowCount(String ref) {
+            if (ref == null || ref.isEmpty()) return -1;
+            var lastCell = ref.substring(ref.indexOf(':') + 1);
+            int row = 0;
+            for (int i = 0; i < lastCell.length(); i++) {
+                char c = lastCell.charAt(i);
+                if (c >= '0' && c <= '9') row = row * 10 + (c - '0');
+            }
+            return row > 0 ? row : -1;
+        }
+
+        /**
+         * Column of an A1 style reference; row digits and {@code $} markers are ignored.
+         */
+        private static int columnIndex(String cellReference) {
+            int column = 0;
+            for (int i = 0; i < cellReference.length(); i++) {
+                char c = cellReference.charAt(i);
+                if (c >= 'A' && c <= 'Z') column = column * 26 + (c - 'A' + 1);
+                else if (c >= 'a' && c <= 'z') column = column * 26 + (c - 'a' + 1);
+                else if (c != '$') break;
+            }
+            return column - 1;
+        }
+
+        /**
+         * Mirrors {@code Main.isCellEmpty}: formula cells count as content, error and blank cells do not.
+         */
+        private boolean hasContent(CellValue cellValue) {
+            if (hasFormula) return true;
+
+            return switch (cellValue) {
+                case StringCellValue(var value) -> !value.isEmpty();
+                case NumberCellValue ignored -> true;
+                case DateCellValue ignored -> true;
+                case BooleanCellValue ignored -> true;
+                case ErrorCellValue ignored -> false;
+                case EmptyCellValue ignored -> false;
+            };
+        }
+    }
+}
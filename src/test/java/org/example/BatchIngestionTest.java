@@ -0,0 +1,99 @@
+package org.example;
+
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class BatchIngestionTest {
+    private static final List<ColumnDefinition<?>> columnDefinitions = List.of(new StringColumnDefinition(), IntegerColumnDefinition.INSTANCE);
+
+    @Test
+    @DisplayName("matching files are ingested, bad file is reported without stopping the batch")
+    void testDirectory(@TempDir Path directory) throws IOException {
+        for (int i = 0; i < 5; i++) createWorkbook(directory.resolve("book-" + i + ".xlsx"), 10 + i);
+        Files.writeString(directory.resolve("broken.xlsx"), "not a workbook");
+        Files.writeString(directory.resolve("extra.csv"), "Name,Count\na,1\nb,2\n");
+        Files.writeString(directory.resolve("notes.txt"), "ignored");
+
+        var ingestion = new BatchIngestion(List.of(new FileSchema("*.xlsx", columnDefinitions), new FileSchema("*.csv", columnDefinitions)),
+                3, 1L << 30);
+        var ingested = new ConcurrentHashMap<Path, Map<String, IngestedSheet>>();
+        var report = ingestion.ingest(directory, ingested::put);
+
+        assertThat(report.files()).extracting(r -> r.file().getFileName().toString())
+                .containsExactly("book-0.xlsx", "book-1.xlsx", "book-2.xlsx", "book-3.xlsx", "book-4.xlsx", "broken.xlsx", "extra.csv");
+        assertThat(report.failures()).singleElement().satisfies(failure -> {
+            assertThat(failure.file().getFileName()).hasToString("broken.xlsx");
+            assertThat(failure.failure()).isNotBlank();
+        });
+        assertThat(report.rowCount()).isEqualTo(10 + 11 + 12 + 13 + 14 + 2);
+
+        var book = ingested.get(directory.resolve("book-2.xlsx")).get("Data");
+        assertThat(book.header()).containsExactly("Name", "Count");
+        assertThat(book.rows().getLast()).containsExactly(new StringValue("row 11"), new IntegerValue(11));
+        assertThat(ingested.get(directory.resolve("extra.csv")).get("extra.csv").rows().getFirst())
+                .containsExactly(new StringValue("a"), new IntegerValue(1));
+        assertThat(report.files().getFirst().bytes()).isPositive();
+        assertThat(report.files().getFirst().rowsPerSecond()).isPositive();
+    }
+
+    @Test
+    @DisplayName("parallelism and memory budget bound the number of files in flight")
+    void testBounds(@TempDir Path directory) throws IOException {
+        var files = new java.util.ArrayList<Path>();
+        for (int i = 0; i < 8; i++) files.add(createWorkbook(directory.resolve("book-" + i + ".xlsx"), 20));
+        var schemas = List.of(new FileSchema("*.xlsx", columnDefinitions));
+
+        assertThat(maxInFlight(new BatchIngestion(schemas, 2, 1L << 30), files)).isBetween(1, 2);
+        assertThat(maxInFlight(new BatchIngestion(schemas, 4, Files.size(files.getFirst()) * BatchIngestion.MEMORY_PER_FILE_BYTE), files))
+                .isEqualTo(1);
+
+        assertThat(new BatchIngestion(schemas, 1, 4096).ingest(List.of(directory.resolve("missing.csv")), (file, sheets) -> {
+        }).failures()).singleElement().satisfies(failure -> assertThat(failure.failure()).contains("No schema"));
+        assertThatIllegalArgumentException().isThrownBy(() -> new BatchIngestion(schemas, 0, 4096));
+    }
+
+    private static int maxInFlight(BatchIngestion ingestion, List<Path> files) {
+        var inFlight = new AtomicInteger();
+        var max = new AtomicInteger();
+        var report = ingestion.ingest(files, (file, sheets) -> {
+            max.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(30);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inFlight.decrementAndGet();
+        });
+        assertThat(report.failures()).isEmpty();
+        return max.get();
+    }
+
+    private static Path createWorkbook(Path file, int rows) throws IOException {
+        try (var workbook = new XSSFWorkbook(); var out = Files.newOutputStream(file)) {
+            var sheet = workbook.createSheet("Data");
+            var header = sheet.createRow(0);
+            header.createCell(0).setCellValue("Name");
+            header.createCell(1).setCellValue("Count");
+            for (int r = 0; r < rows; r++) {
+                var row = sheet.createRow(r + 1);
+                row.createCell(0).setCellValue("row " + r);
+                row.createCell(1).setCellValue(r);
+            }
+            workbook.write(out);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,196 @@
+package org.example;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class ColumnParsersTest {
+    private static Stream<Arguments> provideParserData() {
+        return Stream.of(
+                Arguments.of(new DoubleColumnDefinition("#.###"), new StringCellValue("1.234"), new DoubleValue(1.234)),
+                Arguments.of(new DoubleColumnDefinition(), new StringCellValue("abc"),
+                        new DoubleValueError("String value is not valid number: abc under format '#.##'")),
+                Arguments.of(new DateColumnDefinition("dd.MM.yyyy"), new StringCellValue("15.05.2025"), new DateValue(LocalDate.of(2025, 5, 15))),
+                Arguments.of(new DateColumnDefinition("bb"), new StringCellValue("15.05.2025"),
+                        new DateValueError("Date cannot be parsed from: 15.05.2025 with format: 'bb'")),
+                Arguments.of(new StringColumnDefinition("#.00"), new NumberCellValue(1.5), new StringValue("1.50")),
+                Arguments.of(new StringColumnDefinition(), new DateCellValue(LocalDate.of(2025, 5, 15)), new StringValue("2025/05/15")),
+                Arguments.of(CurrencyColumnDefinition.INSTANCE, new StringCellValue("1,234.50"), new CurrencyValue(new java.math.BigDecimal("1234.50"))),
+                Arguments.of(new EnumColumnDefinition(Size.class), new StringCellValue("XL"), new EnumValue<>(Size.XL)),
+                Arguments.of(new CustomColumnDefinition(Price.class), new StringCellValue("mkt"), new CustomValue<>(Price.mkt()))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideParserData")
+    @DisplayName("compiled parser gives the same result as column definition")
+    void testCompiledParser(ColumnDefinition<?> columnDefinition, CellValue cellValue, Value expected) {
+        assertThat(columnDefinition.compile().parse(cellValue)).isEqualTo(expected);
+        assertThat(columnDefinition.getValue(cellValue)).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("compiled parser can be shared between threads")
+    void testSharedBetweenThreads() {
+        var converter = RowConverter.compile(List.of(new DoubleColumnDefinition("#,##0.###"), new DateColumnDefinition("dd.MM.yyyy")));
+
+        var results = IntStream.range(0, 20_000).parallel()
+                .mapToObj(i -> converter.convert(new ParsedRow(List.of(
+                        new StringCellValue(String.format(Locale.US, "%,d.5", i)),
+                        new StringCellValue("%02d.01.2025".formatted(i % 28 + 1))))))
+                .toList();
+
+        for (int i = 0; i < results.size(); i++)
+            assertThat(results.get(i)).containsExactly(new DoubleValue(i + 0.5), new DateValue(LocalDate.of(2025, 1, i % 28 + 1)));
+    }
+
+    @Test
+    @DisplayName("error keeps code and raw input and formats message on demand")
+    void testLazyErrors() {
+        var error = (DoubleValueError) new DoubleColumnDefinition("#.###").getValue(new StringCellValue("abc"));
+        assertThat(error.error().code()).isEqualTo(ErrorCode.NOT_A_NUMBER_WITH_FORMAT);
+        assertThat(error.error().input()).isEqualTo("abc");
+        assertThat(error.error().context()).isEqualTo("#.###");
+        assertThat(error.message()).isEqualTo("String value is not valid number: abc under format '#.###'");
+        assertThat(error).isEqualTo(new DoubleValueError("String value is not valid number: abc under format '#.###'"));
+
+        var cellError = new ErrorCellValue(ErrorDetail.of(ErrorCode.CELL_ERROR, "#REF!", "B7", "A1/0"));
+        var passedOn = (CustomValueError) new CustomColumnDefinition(Price.class).getValue(cellError);
+        assertThat(passedOn.error()).isSameAs(cellError.value());
+        assertThat(passedOn.message()).isEqualTo("#REF!@B7:A1/0");
+
+        var renders = new AtomicInteger();
+        var deferred = ErrorDetail.of(ErrorCode.CELL_ERROR, "#DIV/0!", "C2", (DeferredText) () -> renders.incrementAndGet() == 1 ? "1/0" : "again");
+        assertThat(renders).hasValue(0);
+        assertThat(deferred.message()).isEqualTo("#DIV/0!@C2:1/0").isSameAs(deferred.message());
+        assertThat(renders).hasValue(1);
+        assertThat(ErrorDetail.of(ErrorCode.CELL_ERROR, "#N/A", "C3", (DeferredText) () -> null).message()).isEqualTo("#N/A@C3");
+    }
+
+    private static Stream<Arguments> provideInvalidTexts() {
+        return Stream.of(
+                Arguments.of(new CustomColumnDefinition(Price.class), "abc",
+                        new CustomValueError("Price cannot be parsed from: abc due to: Only MKT or valid number is allowed")),
+                Arguments.of(new CustomColumnDefinition(Price.class), "",
+                        new CustomValueError("Price cannot be parsed from:  due to: Input string cannot be null.")),
+                Arguments.of(new DateColumnDefinition("dd.MM.yyyy"), "2025-05-15",
+                        new DateValueError("Date cannot be parsed from: 2025-05-15 with format: 'dd.MM.yyyy'")),
+                Arguments.of(new DateColumnDefinition("dd.MM.yyyy"), "15.05.2025 tail",
+                        new DateValueError("Date cannot be parsed from: 15.05.2025 tail with format: 'dd.MM.yyyy'")),
+                Arguments.of(new DateColumnDefinition("dd.MM.yyyy"), "15.13.2025",
+                        new DateValueError("Date cannot be parsed from: 15.13.2025 with format: 'dd.MM.yyyy'"))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideInvalidTexts")
+    @DisplayName("invalid text is reported as error value")
+    void testInvalidTexts(ColumnDefinition<?> columnDefinition, String text, Value expected) {
+        assertThat(columnDefinition.getValue(new StringCellValue(text))).isEqualTo(expected);
+    }
+
+    private static Stream<Arguments> provideDateTexts() {
+        var optionalDay = Stream.of("2025-12", "2025-13", "2025-12-", "2025-12-31x")
+                .map(text -> Arguments.of("yyyy-MM[-dd]", text));
+        return Stream.concat(optionalDay, Stream.of("dd.MM.yyyy", "uuuu-MM-dd", "d MMM yy", "yyyy/MM/dd HH:mm", "EEE dd.MM.yyyy", "yyyy-MM[-dd]")
+                .flatMap(pattern -> Stream.of(LocalDate.of(2024, 2, 29), LocalDate.of(1999, 12, 31), LocalDate.of(2025, 4, 30))
+                        .map(date -> DateTimeFormatter.ofPattern(pattern, Locale.US).format(date.atTime(13, 45)))
+                        .flatMap(text -> Stream.of(text, text.replace("29", "30"), text.replace("30", "31"), text.replace("31", "32"),
+                                text.replace("12", "13"), text.replace("2024", "2023"), text.replace("1999", "0000"), text + "x"))
+                        .map(text -> Arguments.of(pattern, text))));
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideDateTexts")
+    @DisplayName("date parsed in one pass resolves like LocalDate.parse")
+    void testDateResolvesLikeJdk(String pattern, String text) {
+        Value expected;
+        try {
+            expected = new DateValue(LocalDate.parse(text, DateTimeFormatter.ofPattern(pattern).withLocale(Locale.US)));
+        } catch (DateTimeException e) {
+            expected = new DateValueError(ErrorDetail.of(ErrorCode.DATE_NOT_PARSED, text, pattern));
+        }
+        assertThat(new DateColumnDefinition(pattern).getValue(new StringCellValue(text))).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("value dictionaries live for one read and are not kept by shared parsers")
+    void testDictionaryPerRead() {
+        var converter = RowConverter.compile(List.of(new StringColumnDefinition(), new EnumColumnDefinition(Color.class)));
+        var row = new ParsedRow(List.of(new StringCellValue("USD"), new StringCellValue("RED")));
+
+        var first = converter.session();
+        assertThat(first.convert(row).get(0)).isSameAs(first.convert(row).get(0));
+        assertThat(first.convert(row).get(1)).isSameAs(first.convert(row).get(1));
+
+        var second = converter.session();
+        assertThat(second.convert(row).get(0)).isEqualTo(first.convert(row).get(0)).isNotSameAs(first.convert(row).get(0));
+        assertThat(second.convert(row).get(1)).isEqualTo(new EnumValue<>(Color.RED)).isNotSameAs(first.convert(row).get(1));
+
+        var definition = new StringColumnDefinition();
+        assertThat(definition.getValue(new StringCellValue("EUR"))).isEqualTo(new StringValue("EUR"))
+                .isNotSameAs(definition.getValue(new StringCellValue("EUR")));
+    }
+
+    @Test
+    @DisplayName("price can be parsed without exceptions")
+    void testPriceTryParse() {
+        assertThat(Price.tryParse("1,234.5")).isEqualTo(ParseResult.success(Price.of(1234.5)));
+        assertThat(Price.tryParse(" mktMKT ")).isEqualTo(ParseResult.success(Price.mkt()));
+        assertThat(Price.tryParse("x1")).isInstanceOf(ParseResult.Failure.class);
+        assertThat(Price.parse("12")).isEqualTo(Price.of(12.0));
+        assertThatIllegalArgumentException().isThrownBy(() -> Price.parse("x1"))
+                .withMessage("Only MKT or valid number is allowed in: x1");
+    }
+
+    @Test
+    @DisplayName("booleans and small integers are shared instances")
+    void testFlyweights() {
+        assertThat(BooleanColumnDefinition.INSTANCE.getValue(BooleanCellValue.of(true))).isSameAs(BooleanValue.TRUE);
+        assertThat(BooleanColumnDefinition.INSTANCE.getValue(new NumberCellValue(0))).isSameAs(BooleanValue.FALSE);
+        assertThat(BooleanCellValue.of(false)).isSameAs(BooleanCellValue.FALSE).isEqualTo(new BooleanCellValue(false));
+
+        assertThat(IntegerColumnDefinition.INSTANCE.getValue(new NumberCellValue(-1)))
+                .isSameAs(IntegerColumnDefinition.INSTANCE.getValue(new StringCellValue("-1")));
+        assertThat(IntegerValue.of(IntegerValue.Cache.HIGH)).isSameAs(IntegerValue.of(IntegerValue.Cache.HIGH));
+        assertThat(IntegerValue.of(IntegerValue.Cache.HIGH + 1)).isNotSameAs(IntegerValue.of(IntegerValue.Cache.HIGH + 1))
+                .isEqualTo(new IntegerValue(IntegerValue.Cache.HIGH + 1));
+
+        var batch = ColumnarBatch.from(List.of(new ParsedRow(List.of(new NumberCellValue(1), BooleanCellValue.TRUE))),
+                List.of(IntegerColumnDefinition.INSTANCE, BooleanColumnDefinition.INSTANCE));
+        assertThat(batch.row(0).get(0)).isSameAs(IntegerValue.of(1));
+        assertThat(batch.row(0).get(1)).isSameAs(BooleanValue.TRUE);
+    }
+
+    @Test
+    @DisplayName("parallel conversion keeps row order and reports every chunk")
+    void testParallelConversion() {
+        var rows = IntStream.range(0, 10_001)
+                .mapToObj(i -> new ParsedRow(List.of(new NumberCellValue(i), new StringCellValue("row " + i))))
+                .toList();
+
+        var result = ParallelRowConverter.of(List.of(IntegerColumnDefinition.INSTANCE, new StringColumnDefinition()), 1000).convert(rows);
+
+        assertThat(result.rows()).hasSize(rows.size());
+        for (int i = 0; i < rows.size(); i++)
+            assertThat(result.rows().get(i)).containsExactly(new IntegerValue(i), new StringValue("row " + i));
+
+        assertThat(result.chunkTimings()).hasSize(11);
+        assertThat(result.chunkTimings().getLast().rowCount()).isEqualTo(1);
+        assertThat(result.chunkTimings()).extracting(ChunkTiming::chunk).containsExactlyElementsOf(IntStream.range(0, 11).boxed().toList());
+    }
+}
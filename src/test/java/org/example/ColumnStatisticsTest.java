@@ -0,0 +1,146 @@
+package org.example;
+
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ColumnStatisticsTest {
+    private static final int ROWS = 300;
+
+    @Test
+    @DisplayName("counts, min and max are exact")
+    void testExactStatistics() {
+        var profiler = new ColumnProfiler(List.of(IntegerColumnDefinition.INSTANCE, new StringColumnDefinition()));
+        profiler.accept(List.of(new IntegerValue(5), new StringValue("pear")));
+        profiler.accept(List.of(IntegerValueBlank.INSTANCE, new StringValue("apple")));
+        profiler.accept(List.of(new IntegerValueError("bad"), new StringValue("pear")));
+        profiler.accept(List.of(new IntegerValue(-3), StringValueBlank.INSTANCE));
+
+        var integers = profiler.statistics().get(0);
+        assertThat(integers.count()).isEqualTo(4);
+        assertThat(integers.blankCount()).isEqualTo(1);
+        assertThat(integers.errorCount()).isEqualTo(1);
+        assertThat(integers.presentCount()).isEqualTo(2);
+        assertThat(integers.min()).isEqualTo(new IntegerValue(-3));
+        assertThat(integers.max()).isEqualTo(new IntegerValue(5));
+        assertThat(integers.distinctEstimate()).isEqualTo(2);
+        assertThat(integers.quantile(0).getAsDouble()).isEqualTo(-3);
+        assertThat(integers.quantile(1).getAsDouble()).isEqualTo(5);
+
+        var strings = profiler.statistics().get(1);
+        assertThat(strings.min()).isEqualTo(new StringValue("apple"));
+        assertThat(strings.max()).isEqualTo(new StringValue("pear"));
+        assertThat(strings.distinctEstimate()).isEqualTo(2);
+        assertThat(strings.quantile(0.5)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("distinct count estimate stays within a few percent")
+    void testDistinctEstimate() {
+        var statistics = new ColumnStatistics(new StringColumnDefinition());
+        for (int repeat = 0; repeat < 3; repeat++)
+            for (int i = 0; i < 50_000; i++) statistics.accept(new StringValue("value-" + i));
+
+        assertThat(statistics.count()).isEqualTo(150_000);
+        assertThat((double) statistics.distinctEstimate()).isCloseTo(50_000, within(50_000 * 0.05));
+    }
+
+    @Test
+    @DisplayName("quantiles of numbers and dates are approximate within rank error")
+    void testQuantiles() {
+        var numbers = new ColumnStatistics(new DoubleColumnDefinition());
+        var random = new Random(42);
+        for (int i = 0; i < 100_000; i++) numbers.accept(new DoubleValue(random.nextDouble() * 1000));
+
+        assertThat(numbers.quantile(0.5).getAsDouble()).isCloseTo(500, within(20.0));
+        assertThat(numbers.quantile(0.9).getAsDouble()).isCloseTo(900, within(20.0));
+        assertThat(((DoubleValue) numbers.max()).value()).isLessThan(1000);
+
+        var dates = new ColumnStatistics(new DateColumnDefinition());
+        var start = LocalDate.of(2020, 1, 1);
+        for (int i = 0; i < 1000; i++) dates.accept(new DateValue(start.plusDays(i)));
+
+        assertThat(LocalDate.ofEpochDay((long) dates.quantile(0.5).getAsDouble())).isBetween(start.plusDays(480), start.plusDays(520));
+        assertThat(dates.min()).isEqualTo(new DateValue(start));
+        assertThat(dates.max()).isEqualTo(new DateValue(start.plusDays(999)));
+    }
+
+    @Test
+    @DisplayName("merged profiles equal profile of all rows")
+    void testMerge() {
+        var columnDefinitions = List.of(IntegerColumnDefinition.INSTANCE);
+        var left = new ColumnProfiler(columnDefinitions);
+        var right = new ColumnProfiler(columnDefinitions);
+        for (int i = 0; i < 10_000; i++) (i % 2 == 0 ? left : right).accept(List.of(new IntegerValue(i)));
+        right.accept(List.of(IntegerValueBlank.INSTANCE));
+
+        left.merge(right);
+        var merged = left.statistics().getFirst();
+        assertThat(merged.count()).isEqualTo(10_001);
+        assertThat(merged.blankCount()).isEqualTo(1);
+        assertThat(merged.min()).isEqualTo(new IntegerValue(0));
+        assertThat(merged.max()).isEqualTo(new IntegerValue(9_999));
+        assertThat((double) merged.distinctEstimate()).isCloseTo(10_000, within(500.0));
+        assertThat(merged.quantile(0.5).getAsDouble()).isCloseTo(5_000, within(200.0));
+    }
+
+    @Test
+    @DisplayName("sheets are profiled while ingested, with or without rows")
+    void testProfile(@TempDir Path directory) throws IOException {
+        var file = directory.resolve("profile.xlsx");
+        createWorkbook(file);
+        var schemas = Map.of("Data", List.of(new StringColumnDefinition(), IntegerColumnDefinition.INSTANCE));
+
+        Map<String, ProfiledSheet> withRows;
+        Map<String, ProfiledSheet> withoutRows;
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            withRows = WorkbookIngestion.profile(file, schemas, executor, true);
+            withoutRows = WorkbookIngestion.profile(file, schemas, executor, false);
+        }
+
+        var profiled = withRows.get("Data");
+        assertThat(profiled.sheet().header()).containsExactly("Name", "Count");
+        assertThat(profiled.sheet().rows()).hasSize(ROWS);
+        var counts = profiled.statistics().get(1);
+        assertThat(counts.count()).isEqualTo(ROWS);
+        assertThat(counts.errorCount()).isEqualTo(ROWS / 10);
+        assertThat(counts.min()).isEqualTo(new IntegerValue(1));
+        assertThat(counts.max()).isEqualTo(new IntegerValue(ROWS - 1));
+        assertThat((double) profiled.statistics().getFirst().distinctEstimate()).isCloseTo(ROWS, within(ROWS * 0.02));
+
+        var lean = withoutRows.get("Data");
+        assertThat(lean.sheet().rows()).isEmpty();
+        assertThat(lean.statistics().get(1).errorCount()).isEqualTo(counts.errorCount());
+        assertThat(lean.statistics().get(1).max()).isEqualTo(counts.max());
+    }
+
+    private static void createWorkbook(Path file) throws IOException {
+        try (var workbook = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(file)) {
+            var sheet = workbook.createSheet("Data");
+            var header = sheet.createRow(0);
+            header.createCell(0).setCellValue("Name");
+            header.createCell(1).setCellValue("Count");
+            for (int r = 0; r < ROWS; r++) {
+                var row = sheet.createRow(r + 1);
+                row.createCell(0).setCellValue("name-" + r);
+                if (r % 10 == 0) row.createCell(1).setCellValue("n/a");
+                else row.createCell(1).setCellValue(r);
+            }
+            workbook.write(out);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.example;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class ColumnarBatchTest {
+    private static final List<ColumnDefinition<?>> columnDefinitions = List.of(
+            IntegerColumnDefinition.INSTANCE,
+            new DoubleColumnDefinition(),
+            new DateColumnDefinition("dd.MM.yyyy"),
+            BooleanColumnDefinition.INSTANCE,
+            CurrencyColumnDefinition.INSTANCE,
+            new StringColumnDefinition(),
+            new EnumColumnDefinition(Color.class),
+            new CustomColumnDefinition(Price.class),
+            EmptyColumnDefinition.INSTANCE
+    );
+
+    private static final List<ParsedRow> rows = List.of(
+            new ParsedRow(List.of(new NumberCellValue(1), new NumberCellValue(1.5), new DateCellValue(LocalDate.of(2025, 5, 15)),
+                    new BooleanCellValue(true), new NumberCellValue(10.25), new StringCellValue("Ala"),
+                    new StringCellValue("red"), new StringCellValue("MKT"), new NumberCellValue(7))),
+            new ParsedRow(List.of(EmptyCellValue.INSTANCE, new StringCellValue("x"), new StringCellValue("15.08.2025"),
+                    EmptyCellValue.INSTANCE, new ErrorCellValue("#N/A@E3"), EmptyCellValue.INSTANCE,
+                    new StringCellValue("pink"), new NumberCellValue(3.5), EmptyCellValue.INSTANCE))
+    );
+
+    @Test
+    @DisplayName("columnar batch round trips to the same values as row-wise conversion")
+    void testRoundTrip() {
+        var batch = ColumnarBatch.from(rows, columnDefinitions);
+
+        var expected = rows.stream()
+                .map(row -> {
+                    var cells = row.cellValues();
+                    return java.util.stream.IntStream.range(0, cells.size())
+                            .mapToObj(i -> (Value) columnDefinitions.get(i).getValue(cells.get(i)))
+                            .toList();
+                })
+                .toList();
+
+        assertThat(batch.rowCount()).isEqualTo(2);
+        assertThat(batch.toRows()).usingRecursiveComparison().isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("typed columns expose primitive arrays and blank/error bitmaps")
+    void testPrimitiveAccess() {
+        var batch = ColumnarBatch.from(rows, columnDefinitions);
+
+        var integers = batch.column(0, IntegerColumnVector.class);
+        assertThat(integers.getInt(0)).isEqualTo(1);
+        assertThat(integers.isBlank(1)).isTrue();
+
+        var doubles = batch.column(1, DoubleColumnVector.class);
+        assertThat(doubles.values()[0]).isEqualTo(1.5);
+        assertThat(doubles.isError(1)).isTrue();
+        assertThat(doubles.errorMessage(1)).startsWith("String value is not valid number: x");
+
+        var dates = batch.column(2, DateColumnVector.class);
+        assertThat(dates.epochDays()[0]).isEqualTo(LocalDate.of(2025, 5, 15).toEpochDay());
+        assertThat(dates.getDate(1)).isEqualTo(LocalDate.of(2025, 8, 15));
+
+        var currencies = batch.column(4, CurrencyColumnVector.class);
+        assertThat(currencies.getDecimal(0)).isEqualTo(BigDecimal.valueOf(10.25));
+        assertThat(currencies.errorCount()).isEqualTo(1);
+        assertThat(currencies.errorMessage(1)).isEqualTo("#N/A@E3");
+
+        var strings = batch.column(5, StringColumnVector.class);
+        assertThat(strings.blankCount()).isEqualTo(1);
+        assertThat(strings.getString(0)).isEqualTo("Ala");
+        assertThat(strings.dictionary()).containsExactly("Ala");
+        assertThat(batch.column(8).blankCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testMetaSizeMismatch() {
+        var batch = ColumnarBatch.of(columnDefinitions);
+
+        assertThatIllegalStateException()
+                .isThrownBy(() -> batch.append(new ParsedRow(List.of(EmptyCellValue.INSTANCE))))
+                .withMessage("Meta size do not match");
+    }
+}
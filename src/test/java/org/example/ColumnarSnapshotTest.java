@@ -0,0 +1,125 @@
+package org.example;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class ColumnarSnapshotTest {
+    private static final List<ColumnDefinition<?>> columnDefinitions = List.of(
+            IntegerColumnDefinition.INSTANCE,
+            new DoubleColumnDefinition(),
+            new DateColumnDefinition("dd.MM.yyyy"),
+            BooleanColumnDefinition.INSTANCE,
+            CurrencyColumnDefinition.INSTANCE,
+            new StringColumnDefinition(),
+            new EnumColumnDefinition(Color.class),
+            new CustomColumnDefinition(Price.class),
+            EmptyColumnDefinition.INSTANCE
+    );
+
+    @Test
+    @DisplayName("snapshot reloads the same values for every column kind, blanks and errors included")
+    void testRoundTrip(@TempDir Path directory) throws IOException {
+        var rows = new ArrayList<List<Value>>();
+        for (int i = 0; i < 130; i++)
+            rows.add(List.of(IntegerValue.of(i - 5), new DoubleValue(i / 4.0), new DateValue(LocalDate.of(2025, 1, 1).plusDays(i)),
+                    BooleanValue.of(i % 3 == 0), new CurrencyValue(new BigDecimal("10.50").add(BigDecimal.valueOf(i % 4))),
+                    new StringValue("ż" + i % 7), new EnumValue<>(Color.values()[i % 3]),
+                    new CustomValue<>(i % 2 == 0 ? Price.mkt() : Price.of(i + 0.25)), SimplyBlank.INSTANCE));
+        rows.add(List.of(IntegerValueBlank.INSTANCE, DoubleValueBlank.INSTANCE, DateValueBlank.INSTANCE, BooleanValueBlank.INSTANCE,
+                CurrencyValueBlank.INSTANCE, StringValueBlank.INSTANCE, EnumValueBlank.INSTANCE, CustomValueBlank.INSTANCE,
+                SimplyBlank.INSTANCE));
+        rows.add(List.of(new IntegerValueError("i"), new DoubleColumnDefinition("#.#").getValue(new StringCellValue("abc")),
+                new DateValueError("t"), new BooleanValueError("b"), new CurrencyValueError("c"), new StringValueError("s"),
+                new EnumValueError("e"), new CustomValueError("u"), SimplyBlank.INSTANCE));
+        var file = directory.resolve("rows.snapshot");
+
+        ColumnarSnapshot.write(file, columnDefinitions, rows);
+        var snapshot = ColumnarSnapshot.open(file);
+
+        assertThat(snapshot.rowCount()).isEqualTo(rows.size());
+        assertThat(snapshot.columnCount()).isEqualTo(columnDefinitions.size());
+        assertThat(snapshot.columnDefinition(6)).isEqualTo(new EnumColumnDefinition(Color.class));
+        assertThat(snapshot.toRows()).isEqualTo(rows);
+        assertThat(((ErrorValue) snapshot.row(131).get(1)).error().code()).isEqualTo(ErrorCode.NOT_A_NUMBER_WITH_FORMAT);
+    }
+
+    @Test
+    @DisplayName("columns are read in place through primitive accessors")
+    void testPrimitiveAccess(@TempDir Path directory) throws IOException {
+        var batch = ColumnarBatch.fromValues(List.of(
+                List.of(IntegerValue.of(42), new DateValue(LocalDate.of(2024, 2, 29)), new StringValue("a"), BooleanValue.TRUE),
+                List.of(IntegerValueBlank.INSTANCE, new DateValueError("bad"), new StringValue("b"), BooleanValue.FALSE),
+                List.of(IntegerValue.of(-1), DateValueBlank.INSTANCE, new StringValue("a"), BooleanValueBlank.INSTANCE)
+        ), List.of(IntegerColumnDefinition.INSTANCE, new DateColumnDefinition(), new StringColumnDefinition(), BooleanColumnDefinition.INSTANCE));
+        var file = directory.resolve("batch.snapshot");
+
+        ColumnarSnapshot.write(file, batch);
+        var snapshot = ColumnarSnapshot.open(file);
+
+        var integers = snapshot.column(0);
+        assertThat(integers.getInt(0)).isEqualTo(42);
+        assertThat(integers.isBlank(1)).isTrue();
+        assertThat(integers.getInt(2)).isEqualTo(-1);
+
+        var dates = snapshot.column(1);
+        assertThat(dates.getDate(0)).isEqualTo(LocalDate.of(2024, 2, 29));
+        assertThat(dates.isError(1)).isTrue();
+        assertThat(dates.errorDetail(1).message()).isEqualTo("bad");
+        assertThat(dates.isPresent(2)).isFalse();
+
+        var strings = snapshot.column(2);
+        assertThat(strings.dictionarySize()).isEqualTo(2);
+        assertThat(strings.getCode(0)).isEqualTo(strings.getCode(2));
+        assertThat(strings.getString(1)).isEqualTo("b");
+
+        var booleans = snapshot.column(3);
+        assertThat(booleans.getBoolean(0)).isTrue();
+        assertThat(booleans.getBoolean(1)).isFalse();
+        assertThat(booleans.get(2)).isEqualTo(BooleanValueBlank.INSTANCE);
+    }
+
+    @Test
+    @DisplayName("empty batch and unsupported custom types")
+    void testEdgeCases(@TempDir Path directory) throws IOException {
+        var file = directory.resolve("empty.snapshot");
+        ColumnarSnapshot.write(file, columnDefinitions, List.of());
+        var snapshot = ColumnarSnapshot.open(file);
+        assertThat(snapshot.rowCount()).isZero();
+        assertThat(snapshot.toRows()).isEmpty();
+
+        assertThatIllegalStateException().isThrownBy(() -> ColumnarSnapshot.write(file,
+                List.of(new CustomColumnDefinition(Price.class)), List.of(List.of(new CustomValue<>("text")))));
+        assertThat(ColumnarSnapshot.open(file).columnCount()).isEqualTo(columnDefinitions.size());
+        try (var files = Files.list(directory)) {
+            assertThat(files).containsExactly(file);
+        }
+    }
+
+    @Test
+    @DisplayName("truncated or foreign file is rejected")
+    void testCorruptFile(@TempDir Path directory) throws IOException {
+        var file = directory.resolve("rows.snapshot");
+        ColumnarSnapshot.write(file, List.of(new StringColumnDefinition()), List.of(List.of(new StringValue("x"))));
+        var bytes = Files.readAllBytes(file);
+
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+        assertThatIOException().isThrownBy(() -> ColumnarSnapshot.open(file));
+
+        Files.write(file, new byte[64]);
+        assertThatIOException().isThrownBy(() -> ColumnarSnapshot.open(file));
+    }
+}
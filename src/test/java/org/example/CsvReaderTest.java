@@ -0,0 +1,143 @@
+package org.example;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class CsvReaderTest {
+    private static final String SAMPLE = """
+            name,amount,active,code,note\r
+            "Smith, John",1234.5,TRUE,007,"said ""hi""\r
+            and left"\r
+            \r
+            ,,\r
+            Zoë,-2e3,false,12345678901234567,\r
+            """;
+
+    private static final List<ParsedRow> SAMPLE_ROWS = List.of(
+            new ParsedRow(List.of(new StringCellValue("name"), new StringCellValue("amount"), new StringCellValue("active"),
+                    new StringCellValue("code"), new StringCellValue("note"))),
+            new ParsedRow(List.of(new StringCellValue("Smith, John"), new NumberCellValue(1234.5), BooleanCellValue.TRUE,
+                    new StringCellValue("007"), new StringCellValue("said \"hi\"\r\nand left"))),
+            new ParsedRow(List.of(new StringCellValue("Zoë"), new NumberCellValue(-2000), BooleanCellValue.FALSE,
+                    new StringCellValue("12345678901234567"), EmptyCellValue.INSTANCE)));
+
+    @ParameterizedTest
+    @MethodSource("provideBufferSizes")
+    @DisplayName("records split across buffer refills are read whole")
+    void testBufferSizes(int bufferSize) throws IOException {
+        assertThat(read(SAMPLE, CsvFormat.CSV.withTypedCells(true), bufferSize)).isEqualTo(SAMPLE_ROWS);
+    }
+
+    private static Stream<Arguments> provideBufferSizes() {
+        return Stream.of(Arguments.of(16), Arguments.of(17), Arguments.of(31), Arguments.of(CsvReader.DEFAULT_BUFFER_SIZE));
+    }
+
+    private static Stream<Arguments> provideCells() {
+        return Stream.of(
+                Arguments.of("42", new NumberCellValue(42)),
+                Arguments.of("+0.25", new NumberCellValue(0.25)),
+                Arguments.of("1E-3", new NumberCellValue(0.001)),
+                Arguments.of("0", new NumberCellValue(0)),
+                Arguments.of("\"42\"", new StringCellValue("42")),
+                Arguments.of("007", new StringCellValue("007")),
+                Arguments.of("1.", new StringCellValue("1.")),
+                Arguments.of(".5", new StringCellValue(".5")),
+                Arguments.of(" 1", new StringCellValue(" 1")),
+                Arguments.of("1e", new StringCellValue("1e")),
+                Arguments.of("NaN", new StringCellValue("NaN")),
+                Arguments.of("True", BooleanCellValue.TRUE),
+                Arguments.of("yes", new StringCellValue("yes")),
+                Arguments.of("2025-05-15", new StringCellValue("2025-05-15")),
+                Arguments.of("\"a\"b", new StringCellValue("a")),
+                Arguments.of("\"open", new StringCellValue("open"))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideCells")
+    @DisplayName("only unambiguous values are typed")
+    void testCellTypes(String text, CellValue expected) throws IOException {
+        assertThat(read("x;" + text, CsvFormat.CSV.withDelimiter(';').withTypedCells(true), 16))
+                .containsExactly(new ParsedRow(List.of(new StringCellValue("x"), expected)));
+    }
+
+    @Test
+    @DisplayName("tab separated text is read as plain strings by default")
+    void testTsvWithoutTypes() throws IOException {
+        var rows = read("\uFEFFa,b\t1\t\"q\tq\"\nlast\t2", CsvFormat.TSV, 16);
+
+        assertThat(rows).containsExactly(
+                new ParsedRow(List.of(new StringCellValue("a,b"), new StringCellValue("1"), new StringCellValue("q\tq"))),
+                new ParsedRow(List.of(new StringCellValue("last"), new StringCellValue("2"))));
+    }
+
+    @Test
+    @DisplayName("numeric looking fields keep their exact text in string columns and header")
+    void testNumericTextInStringColumns(@TempDir Path directory) throws IOException {
+        var file = Files.writeString(directory.resolve("codes.csv"), """
+                2024,amount
+                12345,0.1234
+                007,1e3
+                """);
+        var converter = RowConverter.compile(List.of(new StringColumnDefinition(), new StringColumnDefinition()));
+
+        var sheet = WorkbookIngestion.ingestSheet(rowConsumer -> CsvReader.read(file, CsvFormat.CSV, rowConsumer), "codes.csv", converter);
+
+        assertThat(sheet.header()).containsExactly("2024", "amount");
+        assertThat(sheet.rows()).containsExactly(
+                List.of(new StringValue("12345"), new StringValue("0.1234")),
+                List.of(new StringValue("007"), new StringValue("1e3")));
+    }
+
+    @Test
+    @DisplayName("delimiter and quote must be distinct ASCII characters")
+    void testInvalidFormat() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new CsvFormat('"', '"', true));
+        assertThatIllegalArgumentException().isThrownBy(() -> CsvFormat.CSV.withDelimiter('\n'));
+        assertThatIllegalArgumentException().isThrownBy(() -> CsvFormat.CSV.withDelimiter('§'));
+    }
+
+    @Test
+    @DisplayName("rows read from file convert with column definitions")
+    void testConvertFromFile(@TempDir Path directory) throws IOException {
+        var file = Files.writeString(directory.resolve("prices.csv"), """
+                size,price,date,count
+                XL,MKT,15.05.2025,3
+                S,"1,234.50",16.05.2025,4
+                """);
+
+        var rows = CsvReader.readAll(file, CsvFormat.CSV);
+        var converter = RowConverter.compile(List.of(new EnumColumnDefinition(Size.class), new CustomColumnDefinition(Price.class),
+                new DateColumnDefinition("dd.MM.yyyy"), IntegerColumnDefinition.INSTANCE));
+
+        assertThat(rows).hasSize(3);
+        assertThat(converter.convert(rows.get(1))).containsExactly(new EnumValue<>(Size.XL), new CustomValue<>(Price.mkt()),
+                new DateValue(LocalDate.of(2025, 5, 15)), new IntegerValue(3));
+        assertThat(converter.convert(rows.get(2))).containsExactly(new EnumValue<>(Size.S), new CustomValue<>(Price.of(1234.5)),
+                new DateValue(LocalDate.of(2025, 5, 16)), new IntegerValue(4));
+    }
+
+    private static List<ParsedRow> read(String text, CsvFormat format, int bufferSize) throws IOException {
+        var rows = new ArrayList<ParsedRow>();
+        new CsvReader(format, bufferSize).read(Channels.newChannel(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8))), rows::add);
+        return rows;
+    }
+}
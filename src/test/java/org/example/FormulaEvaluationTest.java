@@ -0,0 +1,80 @@
+package org.example;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FormulaEvaluationTest {
+    private static final int CHAIN = 5000;
+
+    static Stream<Supplier<Workbook>> workbooks() {
+        return Stream.of(XSSFWorkbook::new, HSSFWorkbook::new);
+    }
+
+    @ParameterizedTest
+    @MethodSource("workbooks")
+    void testFormulasWithoutCachedResults(Supplier<Workbook> workbookFactory) throws IOException {
+        var bytes = createWorkbook(workbookFactory);
+
+        var rows = Main.readWorkbook(new ByteArrayInputStream(bytes), true);
+
+        assertThat(rows.getFirst().cellValues()).containsExactly(
+                new NumberCellValue(CHAIN), new NumberCellValue(2), new StringCellValue("ab"), BooleanCellValue.of(true),
+                new DateCellValue(LocalDate.of(2025, 5, 15)));
+        assertThat(rows.get(1).cellValues().get(1)).isEqualTo(new NumberCellValue(5));
+        assertThat(rows.get(2).cellValues().get(1)).isInstanceOfSatisfying(ErrorCellValue.class,
+                error -> assertThat(error.value().message()).startsWith("#DIV/0!@B3"));
+        assertThat(rows.get(3).cellValues().get(1)).isInstanceOf(ErrorCellValue.class);
+        assertThat(rows.get(4).cellValues().get(1)).isEqualTo(new NumberCellValue(20));
+        assertThat(rows.get(CHAIN - 1).cellValues().getFirst()).isEqualTo(new NumberCellValue(1));
+    }
+
+    /**
+     * <pre>
+     *      A                   B                C            D          E
+     * 1    5000                =B2-3            ="a"&amp;"b"     =B2&gt;1       =DATE(2025,5,15) as date
+     * 2    =A1-1 .. chain      =SUM(B5,C2)-22   7
+     * 3    ...                 =1/0
+     * 4    ...                 =B4 (cycle)
+     * 5    ...                 =C2*2+6
+     * 5000 =A4999-1
+     * </pre>
+     */
+    private static byte[] createWorkbook(Supplier<Workbook> workbookFactory) throws IOException {
+        try (var workbook = workbookFactory.get(); var out = new ByteArrayOutputStream()) {
+            var sheet = workbook.createSheet("Data");
+            sheet.createRow(0).createCell(0).setCellValue(CHAIN);
+            for (int r = 1; r < CHAIN; r++)
+                sheet.createRow(r).createCell(0).setCellFormula("A" + r + "-1");
+
+            var first = sheet.getRow(0);
+            first.createCell(1).setCellFormula("B2-3");
+            first.createCell(2).setCellFormula("\"a\"&\"b\"");
+            first.createCell(3).setCellFormula("B2>1");
+            var date = first.createCell(4);
+            date.setCellFormula("DATE(2025,5,15)");
+            var dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.createDataFormat().getFormat("dd.MM.yyyy"));
+            date.setCellStyle(dateStyle);
+
+            sheet.getRow(1).createCell(1).setCellFormula("SUM(B5,C2)-22");
+            sheet.getRow(1).createCell(2).setCellValue(7);
+            sheet.getRow(2).createCell(1).setCellFormula("1/0");
+            sheet.getRow(3).createCell(1).setCellFormula("B4");
+            sheet.getRow(4).createCell(1).setCellFormula("C2*2+6");
+            workbook.write(out);
+            return out.toByteArray();
+        }
+    }
+}
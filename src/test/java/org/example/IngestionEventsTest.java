@@ -0,0 +1,112 @@
+package org.example;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IngestionEventsTest {
+    @Test
+    @DisplayName("open, sheet read, conversion and error burst events are recorded with their fields")
+    void testEvents(@TempDir Path directory) throws IOException {
+        var events = record(directory, () -> {
+            List<ParsedRow> parsedRows = new ArrayList<>();
+            try (var reader = SheetReader.open(new ByteArrayInputStream(createWorkbook()))) {
+                reader.readSheet("Data", parsedRows::add);
+            }
+            CsvReader.read(new ByteArrayInputStream("a\tb\n".getBytes(StandardCharsets.UTF_8)), CsvFormat.TSV, row -> {
+            });
+            new ParallelRowConverter(RowConverter.compile(List.of(new StringColumnDefinition(), IntegerColumnDefinition.INSTANCE)),
+                    java.util.concurrent.ForkJoinPool.commonPool(), 30)
+                    .convert(parsedRows.subList(1, parsedRows.size()));
+        });
+
+        var open = single(events, "org.example.WorkbookOpen");
+        assertThat(open.getString("source")).isEqualTo("stream");
+        assertThat(open.getString("format")).isEqualTo("OOXML");
+        assertThat(open.getInt("sheetCount")).isEqualTo(1);
+
+        var sheetReads = byName(events, "org.example.SheetRead");
+        assertThat(sheetReads).extracting(e -> e.getString("sheetName")).containsExactlyInAnyOrder("Data", null);
+        assertThat(sheetReads).extracting(e -> e.getString("format")).containsExactlyInAnyOrder("OOXML", "TSV");
+        assertThat(sheetReads).extracting(e -> e.getLong("rowCount")).containsExactlyInAnyOrder(61L, 1L);
+
+        var batches = byName(events, "org.example.RowBatchConversion");
+        assertThat(batches).hasSize(2);
+        assertThat(batches).extracting(e -> e.getInt("rowCount")).containsOnly(30);
+        assertThat(batches).extracting(e -> e.getString("columnKinds")).containsOnly("INTEGER=1, STRING=1");
+        assertThat(batches).extracting(e -> e.getInt("errorCount")).containsExactlyInAnyOrder(0, 30);
+
+        var burst = single(events, "org.example.ErrorBurst");
+        assertThat(burst.getLong("firstRow")).isEqualTo(30);
+        assertThat(burst.getInt("errorCount")).isEqualTo(30);
+        assertThat(burst.getString("firstError")).contains("bad");
+    }
+
+    @Test
+    @DisplayName("kind mix counts columns per kind")
+    void testKindMix() {
+        assertThat(IngestionEvents.kindMix(List.of(new StringColumnDefinition(), BooleanColumnDefinition.INSTANCE, new StringColumnDefinition())))
+                .isEqualTo("BOOLEAN=1, STRING=2");
+        assertThat(IngestionEvents.kindMix(List.of())).isEmpty();
+    }
+
+    private interface Action {
+        void run() throws IOException;
+    }
+
+    private static List<RecordedEvent> record(Path directory, Action action) throws IOException {
+        var file = directory.resolve("ingestion.jfr");
+        try (var recording = new Recording()) {
+            for (var name : List.of("org.example.WorkbookOpen", "org.example.SheetRead", "org.example.RowBatchConversion", "org.example.ErrorBurst"))
+                recording.enable(name).withoutThreshold();
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().startsWith("org.example."))
+                .toList();
+    }
+
+    private static List<RecordedEvent> byName(List<RecordedEvent> events, String name) {
+        return events.stream().filter(event -> event.getEventType().getName().equals(name)).toList();
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        var matching = byName(events, name);
+        assertThat(matching).hasSize(1);
+        return matching.getFirst();
+    }
+
+    private static byte[] createWorkbook() throws IOException {
+        try (var workbook = new XSSFWorkbook(); var out = new ByteArrayOutputStream()) {
+            var sheet = workbook.createSheet("Data");
+            var header = sheet.createRow(0);
+            header.createCell(0).setCellValue("Name");
+            header.createCell(1).setCellValue("Count");
+            for (int r = 1; r <= 60; r++) {
+                var row = sheet.createRow(r);
+                row.createCell(0).setCellValue("row " + r);
+                if (r <= 30) row.createCell(1).setCellValue(r);
+                else row.createCell(1).setCellValue("bad " + r);
+            }
+            workbook.write(out);
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package org.example;
+
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.management.Attribute;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IngestionMetricsTest {
+    @BeforeEach
+    void enable() {
+        IngestionMetrics.reset();
+        IngestionMetrics.setEnabled(true);
+    }
+
+    @AfterEach
+    void disable() {
+        IngestionMetrics.setEnabled(false);
+        IngestionMetrics.reset();
+        IngestionMetrics.unregister();
+    }
+
+    @Test
+    @DisplayName("rows, cells, conversions, errors, bytes and phases are counted during ingestion")
+    void testIngestionCounters() throws IOException {
+        WorkbookIngestion.ingest(new ByteArrayInputStream(createWorkbook()),
+                Map.of("Data", List.of(new StringColumnDefinition(), IntegerColumnDefinition.INSTANCE)), Runnable::run);
+
+        var metrics = IngestionMetrics.snapshot();
+        assertThat(metrics).containsEntry("RowsRead", 6L)
+                .containsEntry("CellsString", 8L)
+                .containsEntry("CellsNumber", 4L)
+                .containsEntry("ConversionsString", 5L)
+                .containsEntry("ConversionsInteger", 5L)
+                .containsEntry("ErrorsInteger", 1L)
+                .containsEntry("ErrorsString", 0L)
+                .containsEntry("OpenCount", 1L)
+                .containsEntry("ReadCount", 1L)
+                .containsEntry("ConvertCount", 5L);
+        assertThat(metrics.get("BytesRead")).isPositive();
+        assertThat(metrics.get("ReadTotalNanos")).isGreaterThanOrEqualTo(metrics.get("ReadMaxNanos")).isPositive();
+    }
+
+    @Test
+    @DisplayName("nothing is counted while disabled")
+    void testDisabled() throws IOException {
+        IngestionMetrics.setEnabled(false);
+        CsvReader.read(new ByteArrayInputStream("a,1\nb,2\n".getBytes(StandardCharsets.UTF_8)), CsvFormat.CSV,
+                row -> RowConverter.compile(List.of(new StringColumnDefinition(), new DoubleColumnDefinition())).convert(row));
+
+        assertThat(IngestionMetrics.snapshot().values()).containsOnly(0L);
+    }
+
+    @Test
+    @DisplayName("csv bytes and rows are counted")
+    void testCsvCounters() throws IOException {
+        var csv = "a,1\nb,true\n\"c\",\n".getBytes(StandardCharsets.UTF_8);
+        CsvReader.read(new ByteArrayInputStream(csv), CsvFormat.CSV.withTypedCells(true), row -> {
+        });
+
+        assertThat(IngestionMetrics.snapshot()).containsEntry("RowsRead", 3L)
+                .containsEntry("BytesRead", (long) csv.length)
+                .containsEntry("CellsString", 3L)
+                .containsEntry("CellsNumber", 1L)
+                .containsEntry("CellsBoolean", 1L)
+                .containsEntry("CellsEmpty", 1L);
+    }
+
+    @Test
+    @DisplayName("metrics are exposed as MBean attributes with reset operation and enabled flag")
+    void testMBean() throws JMException {
+        IngestionMetrics.register();
+        IngestionMetrics.register();
+        var server = ManagementFactory.getPlatformMBeanServer();
+        var name = new ObjectName(IngestionMetrics.OBJECT_NAME);
+
+        RowConverter.compile(List.of(new DoubleColumnDefinition())).convert(new ParsedRow(List.of(new StringCellValue("x"))));
+        assertThat(server.getAttribute(name, "ConversionsDouble")).isEqualTo(1L);
+        assertThat(server.getAttribute(name, "ErrorsDouble")).isEqualTo(1L);
+        assertThat(server.getAttribute(name, "Enabled")).isEqualTo(true);
+
+        server.invoke(name, "reset", null, null);
+        assertThat(server.getAttribute(name, "ConversionsDouble")).isEqualTo(0L);
+
+        server.setAttribute(name, new Attribute("Enabled", false));
+        assertThat(IngestionMetrics.isEnabled()).isFalse();
+    }
+
+    private static byte[] createWorkbook() throws IOException {
+        try (var workbook = new XSSFWorkbook(); var out = new ByteArrayOutputStream()) {
+            var sheet = workbook.createSheet("Data");
+            var header = sheet.createRow(0);
+            header.createCell(0).setCellValue("Name");
+            header.createCell(1).setCellValue("Count");
+            for (int r = 1; r <= 4; r++) {
+                var row = sheet.createRow(r);
+                row.createCell(0).setCellValue("row " + r);
+                row.createCell(1).setCellValue(r);
+            }
+            var last = sheet.createRow(5);
+            last.createCell(0).setCellValue("last");
+            last.createCell(1).setCellValue("many");
+            workbook.write(out);
+            return out.toByteArray();
+        }
+    }
+}
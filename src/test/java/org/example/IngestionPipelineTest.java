@@ -0,0 +1,156 @@
+package org.example;
+
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import rangeCust.IndexSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class IngestionPipelineTest {
+    private static final List<ColumnDefinition<?>> columnDefinitions = List.of(new StringColumnDefinition(), IntegerColumnDefinition.INSTANCE);
+
+    @Test
+    @DisplayName("batches reach the sink in source order with the same values as sequential conversion")
+    void testOrder() throws IOException {
+        var parsedRows = parsedRows(1000);
+        var pipeline = new IngestionPipeline(RowConverter.compile(columnDefinitions), 4, 7, 2);
+
+        var batches = new ArrayList<RowBatch>();
+        long rowCount = pipeline.run(rowConsumer -> parsedRows.forEach(rowConsumer), batches::add);
+
+        assertThat(rowCount).isEqualTo(1000);
+        assertThat(batches).extracting(RowBatch::firstRow).isSorted().startsWith(0L, 7L, 14L);
+        var converter = RowConverter.compile(columnDefinitions);
+        assertThat(batches.stream().flatMap(batch -> batch.rows().stream()).toList())
+                .isEqualTo(parsedRows.stream().map(converter::convert).toList());
+    }
+
+    @Test
+    @DisplayName("slow sink holds the reader back")
+    void testBackpressure() throws IOException {
+        int batchSize = 10, capacity = 3;
+        var pipeline = new IngestionPipeline(RowConverter.compile(columnDefinitions), 2, batchSize, capacity);
+        var produced = new AtomicLong();
+        var producedAtFirstBatch = new AtomicLong(-1);
+
+        pipeline.run(rowConsumer -> parsedRows(1000).forEach(row -> {
+            produced.incrementAndGet();
+            rowConsumer.accept(row);
+        }), batch -> {
+            if (producedAtFirstBatch.get() < 0) {
+                sleep();
+                producedAtFirstBatch.set(produced.get());
+            }
+        });
+
+        assertThat(producedAtFirstBatch.get()).isLessThanOrEqualTo((capacity + 2L) * batchSize).isLessThan(1000);
+        assertThat(produced.get()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("failure of any stage stops the pipeline and is rethrown")
+    void testFailures() {
+        var pipeline = new IngestionPipeline(RowConverter.compile(columnDefinitions), 2, 5, 2);
+
+        assertThatIOException().isThrownBy(() -> pipeline.run(rowConsumer -> {
+            parsedRows(12).forEach(rowConsumer);
+            throw new IOException("disk gone");
+        }, batch -> {
+        })).withMessage("disk gone");
+
+        assertThatIllegalStateException().isThrownBy(() -> pipeline.run(
+                rowConsumer -> rowConsumer.accept(new ParsedRow(List.of(new StringCellValue("only one")))), batch -> {
+                })).withMessage("Meta size do not match");
+
+        assertThatIllegalArgumentException().isThrownBy(() -> pipeline.run(rowConsumer -> parsedRows(10_000).forEach(rowConsumer), batch -> {
+            throw new IllegalArgumentException("sink full");
+        })).withMessage("sink full");
+
+        assertThatIllegalArgumentException().isThrownBy(() -> new IngestionPipeline(RowConverter.compile(columnDefinitions), 0, 1, 1));
+    }
+
+    @Test
+    @DisplayName("reader has ended when a failing run returns, so its channel can be closed right away")
+    void testReaderEndsBeforeFailureIsRethrown(@TempDir Path directory) throws IOException {
+        var file = directory.resolve("rows.xlsx");
+        Files.write(file, createWorkbook(20_000));
+        var pipeline = new IngestionPipeline(RowConverter.compile(columnDefinitions), 2, 10, 2);
+        var sourceEnded = new AtomicBoolean();
+
+        try (var reader = XlsxSheetReader.open(FileChannel.open(file, StandardOpenOption.READ))) {
+            var projection = ColumnProjection.from(columnDefinitions);
+            assertThatIllegalArgumentException().isThrownBy(() -> pipeline.run(rowConsumer -> {
+                try {
+                    reader.readSheet("Data", projection, rowConsumer);
+                } finally {
+                    sourceEnded.set(true);
+                }
+            }, batch -> {
+                throw new IllegalArgumentException("sink full");
+            })).withMessage("sink full");
+            assertThat(sourceEnded).isTrue();
+
+            long[] rowCount = {0};
+            reader.readSheet("Data", projection, parsedRow -> rowCount[0]++);
+            assertThat(rowCount[0]).isEqualTo(20_001);
+        }
+    }
+
+    @Test
+    @DisplayName("sheet is read through the pipeline")
+    void testSheet() throws IOException {
+        var rows = new ArrayList<List<Value>>();
+        try (var reader = SheetReader.open(new ByteArrayInputStream(createWorkbook(50)))) {
+            IngestionPipeline.of(columnDefinitions).run(reader, "Data", IndexSource.range(1, null),
+                    batch -> rows.addAll(batch.rows()));
+        }
+
+        assertThat(rows).hasSize(50);
+        assertThat(rows.get(49)).containsExactly(new StringValue("row 50"), new IntegerValue(50));
+    }
+
+    private static List<ParsedRow> parsedRows(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new ParsedRow(List.of(new StringCellValue("row " + i), i % 10 == 0 ? new StringCellValue("x") : new NumberCellValue(i))))
+                .toList();
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(200);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static byte[] createWorkbook(int rowCount) throws IOException {
+        try (var workbook = new XSSFWorkbook(); var out = new ByteArrayOutputStream()) {
+            var sheet = workbook.createSheet("Data");
+            var header = sheet.createRow(0);
+            header.createCell(0).setCellValue("Name");
+            header.createCell(1).setCellValue("Count");
+            for (int r = 1; r <= rowCount; r++) {
+                var row = sheet.createRow(r);
+                row.createCell(0).setCellValue("row " + r);
+                row.createCell(1).setCellValue(r);
+            }
+            workbook.write(out);
+            return out.toByteArray();
+        }
+    }
+}
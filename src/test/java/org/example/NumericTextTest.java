@@ -0,0 +1,136 @@
+package org.example;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.text.ParsePosition;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NumericTextTest {
+    private static Stream<Arguments> provideValidNumbers() {
+        return Stream.of(
+                Arguments.of("0", 0.0, "0"),
+                Arguments.of("-12", -12.0, "-12"),
+                Arguments.of("+7", 7.0, "7"),
+                Arguments.of(" 42 ", 42.0, "42"),
+                Arguments.of("1,234.56", 1234.56, "1234.56"),
+                Arguments.of("1,234,567", 1234567.0, "1234567"),
+                Arguments.of("3.5E2", 350.0, "3.5E+2"),
+                Arguments.of("1e-5", 1.0E-5, "0.00001"),
+                Arguments.of(".5", 0.5, "0.5"),
+                Arguments.of("5.", 5.0, "5"),
+                Arguments.of("0.050", 0.05, "0.050"),
+                Arguments.of("1,234.50", 1234.5, "1234.50"),
+                Arguments.of("0.0847943928645446", 0.0847943928645446, "0.0847943928645446"),
+                Arguments.of("123456789012345678901234567890", 1.2345678901234568E29, "123456789012345678901234567890")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideValidNumbers")
+    @DisplayName("valid numbers are parsed to double and BigDecimal")
+    void testValidNumbers(String text, double expectedDouble, String expectedDecimal) {
+        assertThat(NumericText.parseDouble(text)).isEqualTo(expectedDouble);
+        assertThat(NumericText.parseDecimal(text)).isEqualTo(new BigDecimal(expectedDecimal));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", " ", "-", ".", "abc", "12abc", "1,23", "12,3456", ",123", "1,,234", "1.2.3", "1e", "1e+", "--1", "1 2", "NaN", "Infinity", "0x10"})
+    @DisplayName("invalid numbers are reported without exception")
+    void testInvalidNumbers(String text) {
+        assertThat(NumericText.parseDouble(text)).isNaN();
+        assertThat(NumericText.parseDecimal(text)).isNull();
+        assertThat(NumericText.parseInt(text)).isEqualTo(NumericText.NOT_AN_INTEGER);
+    }
+
+    @Test
+    @DisplayName("integers are parsed within int range only")
+    void testIntegers() {
+        assertThat(NumericText.parseInt("-12")).isEqualTo(-12);
+        assertThat(NumericText.parseInt("1,234")).isEqualTo(1234);
+        assertThat(NumericText.parseInt("2147483647")).isEqualTo(Integer.MAX_VALUE);
+        assertThat(NumericText.parseInt("-2147483648")).isEqualTo(Integer.MIN_VALUE);
+        assertThat(NumericText.parseInt("2147483648")).isEqualTo(NumericText.NOT_AN_INTEGER);
+        assertThat(NumericText.parseInt("1.0")).isEqualTo(NumericText.NOT_AN_INTEGER);
+        assertThat(NumericText.parseInt("1e3")).isEqualTo(NumericText.NOT_AN_INTEGER);
+    }
+
+    @Test
+    @DisplayName("fast path agrees with Double.parseDouble")
+    void testAgreesWithJdk() {
+        var random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            var text = switch (i % 3) {
+                case 0 -> String.valueOf(random.nextDouble() * Math.pow(10, random.nextInt(20) - 10));
+                case 1 -> String.valueOf(random.nextInt());
+                default -> String.format(Locale.US, "%.4f", random.nextGaussian() * 1000);
+            };
+            assertThat(NumericText.parseDouble(text)).as(text).isEqualTo(Double.parseDouble(text));
+        }
+    }
+
+    @Test
+    @DisplayName("pattern is plain unless it has prefix, suffix, percent or quotes")
+    void testPlainPattern() {
+        assertThat(NumericText.isPlainPattern("#,##0.###")).isTrue();
+        assertThat(NumericText.isPlainPattern("0.00E0")).isTrue();
+        assertThat(NumericText.isPlainPattern("#.##%")).isFalse();
+        assertThat(NumericText.isPlainPattern("'$'#.##")).isFalse();
+    }
+
+    @Test
+    @DisplayName("columns parse text through fast path or pattern")
+    void testColumns() {
+        assertThat(new DoubleColumnDefinition("#,##0.##").getValue(new StringCellValue("1,234.5"))).isEqualTo(new DoubleValue(1234.5));
+        assertThat(new DoubleColumnDefinition("#.##").getValue(new StringCellValue("3.5E2"))).isEqualTo(new DoubleValue(350));
+        assertThat(new DoubleColumnDefinition("#.##%").getValue(new StringCellValue("50%"))).isEqualTo(new DoubleValue(0.5));
+        assertThat(new DoubleColumnDefinition("#.##%").getValue(new StringCellValue("x"))).isInstanceOf(DoubleValueError.class);
+        assertThat(IntegerColumnDefinition.INSTANCE.getValue(new StringCellValue("12x")))
+                .isEqualTo(new IntegerValueError("String value is not an integer: 12x"));
+        assertThat(CurrencyColumnDefinition.INSTANCE.getValue(new StringCellValue("-1,000.10")))
+                .isEqualTo(new CurrencyValue(new BigDecimal("-1000.10")));
+    }
+
+    @Test
+    @DisplayName("plain pattern columns read text exactly like DecimalFormat")
+    void testColumnsAgreeWithPattern() {
+        var texts = new ArrayList<>(List.of("12abc", "NaN", "\u221E", "-\u221E", " 1", "1 ", "+5", "-", "-0", ".5", "1.", "1,234.5", "12,34",
+                "1,,2", "1e3", "1E3", "1E+3", "1E-3", "1.2.3", "12345678901234567890", "0.1234567890123456789"));
+        var random = new Random(42);
+        var alphabet = "0123456789012345.,-E+e x";
+        for (int i = 0; i < 20_000; i++) {
+            var text = new StringBuilder();
+            for (int length = 1 + random.nextInt(8); text.length() < length; )
+                text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            texts.add(text.toString());
+        }
+
+        for (var pattern : List.of("", "#.##", "#,##0.###", "0.###E0")) {
+            var column = new DoubleColumnDefinition(pattern);
+            var decimalFormat = (DecimalFormat) NumberFormat.getNumberInstance(Locale.US);
+            if (!pattern.isEmpty()) decimalFormat.applyPattern(pattern);
+            for (var text : texts) {
+                var position = new ParsePosition(0);
+                var parsed = decimalFormat.parse(text, position);
+                var value = column.getValue(new StringCellValue(text));
+                if (parsed == null || position.getIndex() == 0 || Double.isNaN(parsed.doubleValue()))
+                    assertThat(value).as("%s with '%s'", text, pattern).isInstanceOf(DoubleValueError.class);
+                else
+                    assertThat(value).as("%s with '%s'", text, pattern).isEqualTo(new DoubleValue(parsed.doubleValue()));
+            }
+        }
+    }
+}
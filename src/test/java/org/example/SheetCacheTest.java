@@ -0,0 +1,136 @@
+package org.example;
+
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class SheetCacheTest {
+    @Test
+    @DisplayName("every kind of value survives a round trip")
+    void testRoundTrip(@TempDir Path directory) throws IOException {
+        var cache = new SheetCache(directory, 1 << 20);
+        var sheet = new IngestedSheet("Values", List.of("a", "ż", ""), List.of(
+                List.of(BooleanValue.TRUE, IntegerValue.of(-7), new DoubleValue(Math.PI), new DateValue(LocalDate.of(2025, 5, 15)),
+                        new CurrencyValue(new BigDecimal("1234.500")), new StringValue("x".repeat(70_000)),
+                        new EnumValue<>(Color.RED), new CustomValue<>(Price.of(12.5)), new CustomValue<>(Price.mkt())),
+                List.of(SimplyBlank.INSTANCE, BooleanValueBlank.INSTANCE, IntegerValueBlank.INSTANCE, DoubleValueBlank.INSTANCE,
+                        DateValueBlank.INSTANCE, CurrencyValueBlank.INSTANCE, StringValueBlank.INSTANCE, EnumValueBlank.INSTANCE,
+                        CustomValueBlank.INSTANCE),
+                List.of(new BooleanValueError("b"), new IntegerValueError("i"), new DoubleValueError("d"), new DateValueError("t"),
+                        new CurrencyValueError("c"), new StringValueError("s"), new EnumValueError("e"),
+                        new CustomValueError("u"), new DoubleColumnDefinition("#.#").getValue(new StringCellValue("abc")))));
+
+        cache.put("entry", sheet);
+        var restored = cache.get("entry").orElseThrow();
+
+        assertThat(restored).isEqualTo(sheet);
+        assertThat(restored.rows().get(1)).containsExactlyElementsOf(sheet.rows().get(1));
+        assertThat(((ErrorValue) restored.rows().get(2).getLast()).error().code()).isEqualTo(ErrorCode.NOT_A_NUMBER_WITH_FORMAT);
+        assertThat(cache.get("missing")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("second ingestion of the same file and schema is served from cache")
+    void testIngestWithCache(@TempDir Path directory) throws IOException {
+        var file = createWorkbook(directory.resolve("book.xlsx"));
+        var cache = new SheetCache(directory.resolve("cache"), 1 << 20);
+        Map<String, List<? extends ColumnDefinition<?>>> schemas = Map.of(
+                "Data", List.of(new StringColumnDefinition(), IntegerColumnDefinition.INSTANCE));
+
+        var first = WorkbookIngestion.ingest(file, schemas, Runnable::run, cache);
+        var key = SheetCache.key(SheetCache.contentHash(file), "Data", schemas.get("Data"));
+        assertThat(cache.get(key)).contains(first.get("Data"));
+
+        var second = WorkbookIngestion.ingest(file, schemas, Runnable::run, cache);
+        assertThat(second).isEqualTo(first);
+        assertThat(second.get("Data").rows().get(2)).containsExactly(new StringValue("row 2"), new IntegerValue(2));
+
+        assertThat(SheetCache.key(SheetCache.contentHash(file), "Data", List.of(new StringColumnDefinition(), new DoubleColumnDefinition())))
+                .isNotEqualTo(key);
+        assertThat(SheetCache.key(SheetCache.contentHash(file), "Other", schemas.get("Data"))).isNotEqualTo(key);
+    }
+
+    @Test
+    @DisplayName("least recently used entries are evicted over size limit")
+    void testEviction(@TempDir Path directory) throws IOException {
+        var sheet = new IngestedSheet("S", List.of("h"), List.of(List.of(new StringValue("x".repeat(1000)))));
+        var cache = new SheetCache(directory, 2500);
+
+        cache.put("a", sheet);
+        cache.put("b", sheet);
+        Files.setLastModifiedTime(directory.resolve("a.sheet"), FileTime.fromMillis(1000));
+        Files.setLastModifiedTime(directory.resolve("b.sheet"), FileTime.fromMillis(2000));
+        cache.put("c", sheet);
+
+        assertThat(cache.size()).isLessThanOrEqualTo(2500);
+        assertThat(cache.get("a")).isEmpty();
+        assertThat(cache.get("b")).isPresent();
+        assertThat(cache.get("c")).isPresent();
+
+        assertThatIllegalArgumentException().isThrownBy(() -> new SheetCache(directory, 0));
+    }
+
+    @Test
+    @DisplayName("damaged entry is dropped and reported as miss")
+    void testDamagedEntry(@TempDir Path directory) throws IOException {
+        var cache = new SheetCache(directory, 1 << 20);
+        cache.put("entry", new IngestedSheet("S", List.of(), List.of(List.of(new DoubleValue(1)))));
+        var entry = directory.resolve("entry.sheet");
+        Files.write(entry, Arrays.copyOf(Files.readAllBytes(entry), 20));
+
+        assertThat(cache.get("entry")).isEmpty();
+        assertThat(entry).doesNotExist();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {-1, Integer.MAX_VALUE})
+    @DisplayName("lengths and counts that do not fit in the entry are reported as miss")
+    void testCorruptLengths(int length, @TempDir Path directory) throws IOException {
+        var cache = new SheetCache(directory, 1 << 20);
+        cache.put("entry", new IngestedSheet("S", List.of("A"), List.of(List.of(new StringValue("text")))));
+        var entry = directory.resolve("entry.sheet");
+        var bytes = Files.readAllBytes(entry);
+
+        for (int offset : new int[]{4, 9, 13, 18, 22, 27}) {
+            var damaged = bytes.clone();
+            ByteBuffer.wrap(damaged).putInt(offset, length);
+            Files.write(entry, damaged);
+
+            assertThat(cache.get("entry")).as("length at %d", offset).isEmpty();
+            assertThat(entry).doesNotExist();
+        }
+    }
+
+    private static Path createWorkbook(Path file) throws IOException {
+        try (var workbook = new XSSFWorkbook(); var out = Files.newOutputStream(file)) {
+            var sheet = workbook.createSheet("Data");
+            var header = sheet.createRow(0);
+            header.createCell(0).setCellValue("Name");
+            header.createCell(1).setCellValue("Count");
+            for (int r = 0; r < 10; r++) {
+                var row = sheet.createRow(r + 1);
+                row.createCell(0).setCellValue("row " + r);
+                row.createCell(1).setCellValue(r);
+            }
+            workbook.write(out);
+        }
+        return file;
+    }
+}
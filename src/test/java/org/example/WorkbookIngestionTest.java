@@ -0,0 +1,99 @@
+package org.example;
+
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class WorkbookIngestionTest {
+    private static final int SHEETS = 12;
+    private static final int ROWS = 200;
+
+    @Test
+    @DisplayName("every sheet is ingested concurrently with its own column definitions")
+    void testIngestAll() throws IOException {
+        var bytes = createWorkbook();
+
+        Map<String, IngestedSheet> sheets;
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            sheets = WorkbookIngestion.ingestAll(new ByteArrayInputStream(bytes),
+                    sheetName -> sheetName.endsWith("0")
+                            ? List.of(new StringColumnDefinition(), new StringColumnDefinition())
+                            : List.of(new StringColumnDefinition(), IntegerColumnDefinition.INSTANCE),
+                    executor);
+        }
+
+        assertThat(sheets.keySet()).containsExactlyElementsOf(
+                java.util.stream.IntStream.range(0, SHEETS).mapToObj(i -> "Sheet" + i).toList());
+
+        var first = sheets.get("Sheet1");
+        assertThat(first.header()).containsExactly("Name", "Count");
+        assertThat(first.rows()).hasSize(ROWS);
+        assertThat(first.rows().get(5)).containsExactly(new StringValue("Sheet1-5"), new IntegerValue(5));
+
+        var tenth = sheets.get("Sheet10");
+        assertThat(tenth.rows().get(5)).containsExactly(new StringValue("Sheet10-5"), new StringValue("5"));
+    }
+
+    @Test
+    @DisplayName("only chosen sheets are ingested")
+    void testIngestChosen() throws IOException {
+        var bytes = createWorkbook();
+
+        var sheets = WorkbookIngestion.ingest(new ByteArrayInputStream(bytes),
+                Map.of("Sheet3", List.of(new StringColumnDefinition(), new DoubleColumnDefinition())));
+
+        assertThat(sheets).containsOnlyKeys("Sheet3");
+        assertThat(sheets.get("Sheet3").rows().getFirst()).containsExactly(new StringValue("Sheet3-0"), new DoubleValue(0));
+
+        assertThatIllegalArgumentException().isThrownBy(() -> WorkbookIngestion.ingest(new ByteArrayInputStream(bytes),
+                Map.of("Missing", List.of(new StringColumnDefinition()))));
+    }
+
+    @Test
+    @DisplayName("first failing sheet stops the remaining ones")
+    void testFailFast() throws IOException {
+        var bytes = createWorkbook();
+        var schemas = new LinkedHashMap<String, List<? extends ColumnDefinition<?>>>();
+        schemas.put("Missing", List.of(new StringColumnDefinition()));
+        for (int s = 0; s < SHEETS; s++) schemas.put("Sheet" + s, List.of(new StringColumnDefinition(), IntegerColumnDefinition.INSTANCE));
+
+        IngestionMetrics.reset();
+        IngestionMetrics.setEnabled(true);
+        try (var executor = Executors.newSingleThreadExecutor()) {
+            assertThatIllegalArgumentException().isThrownBy(() -> WorkbookIngestion.ingest(new ByteArrayInputStream(bytes), schemas, executor));
+            assertThat(IngestionMetrics.snapshot()).containsEntry("RowsRead", 0L);
+        } finally {
+            IngestionMetrics.setEnabled(false);
+            IngestionMetrics.reset();
+        }
+    }
+
+    private static byte[] createWorkbook() throws IOException {
+        try (var workbook = new XSSFWorkbook(); var out = new ByteArrayOutputStream()) {
+            for (int s = 0; s < SHEETS; s++) {
+                var sheet = workbook.createSheet("Sheet" + s);
+                var header = sheet.createRow(0);
+                header.createCell(0).setCellValue("Name");
+                header.createCell(1).setCellValue("Count");
+                for (int r = 0; r < ROWS; r++) {
+                    var row = sheet.createRow(r + 1);
+                    row.createCell(0).setCellValue("Sheet" + s + "-" + r);
+                    row.createCell(1).setCellValue(r);
+                }
+            }
+            workbook.write(out);
+            return out.toByteArray();
+        }
+    }
+}
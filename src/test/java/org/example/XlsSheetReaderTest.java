@@ -0,0 +1,154 @@
+package org.example;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import rangeCust.IndexSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class XlsSheetReaderTest {
+    @Test
+    @DisplayName("streaming reader maps cell types like usermodel reader")
+    void testCellTypes() throws IOException {
+        var bytes = createWorkbook();
+
+        var streamed = Main.readExcel(new ByteArrayInputStream(bytes));
+        var loaded = Main.readWorkbook(new ByteArrayInputStream(bytes));
+
+        assertThat(streamed).isEqualTo(loaded);
+        assertThat(streamed).containsExactly(
+                new ParsedRow(List.of(new StringCellValue("text"), new NumberCellValue(1.5), new BooleanCellValue(true),
+                        new DateCellValue(LocalDate.of(2025, 5, 15)), EmptyCellValue.INSTANCE, new StringCellValue("text"))),
+                new ParsedRow(List.of(EmptyCellValue.INSTANCE, EmptyCellValue.INSTANCE, new NumberCellValue(3.0),
+                        new ErrorCellValue("#DIV/0!@D3:1/0"), new StringCellValue("ab"), new BooleanCellValue(false)))
+        );
+    }
+
+    @Test
+    @DisplayName("format is detected from content and sheets are selected by name or index")
+    void testReadSheets(@TempDir Path directory) throws IOException {
+        var file = Files.write(directory.resolve("legacy.xls"), createWorkbook());
+
+        try (var reader = SheetReader.open(file)) {
+            assertThat(reader).isInstanceOf(XlsSheetReader.class);
+            assertThat(reader.sheetNames()).containsExactly("First", "Second");
+
+            var rows = new ArrayList<ParsedRow>();
+            reader.readSheet("Second", rows::add);
+            reader.readSheet(1, rows::add);
+            assertThat(rows).containsExactly(new ParsedRow(List.of(new NumberCellValue(42.0))), new ParsedRow(List.of(new NumberCellValue(42.0))));
+
+            assertThatIllegalArgumentException().isThrownBy(() -> reader.readSheet("Missing", rows::add));
+            assertThatIllegalArgumentException().isThrownBy(() -> reader.readSheet(2, rows::add));
+        }
+        assertThat(Main.readExcel(file)).isEqualTo(Main.readWorkbook(file));
+
+        var ingested = WorkbookIngestion.ingest(file, Map.of("Second", List.of(IntegerColumnDefinition.INSTANCE)),
+                Runnable::run);
+        assertThat(ingested.get("Second").header()).containsExactly("42");
+    }
+
+    @Test
+    @DisplayName("formatted trailing blank cells widen rows like usermodel reader")
+    void testTrailingFormattedBlanks() throws IOException {
+        byte[] bytes;
+        try (var workbook = new HSSFWorkbook(); var out = new ByteArrayOutputStream()) {
+            var style = workbook.createCellStyle();
+            style.setWrapText(true);
+            var sheet = workbook.createSheet();
+            var first = sheet.createRow(0);
+            first.createCell(0).setCellValue("a");
+            for (int c = 1; c <= 4; c++) first.createCell(c).setCellStyle(style);
+            var second = sheet.createRow(1);
+            second.createCell(0).setCellValue(1);
+            second.createCell(2).setCellStyle(style);
+            workbook.write(out);
+            bytes = out.toByteArray();
+        }
+
+        var streamed = Main.readExcel(new ByteArrayInputStream(bytes));
+
+        assertThat(streamed).isEqualTo(Main.readWorkbook(new ByteArrayInputStream(bytes)));
+        assertThat(streamed.getFirst().cellValues()).hasSize(5);
+        assertThat(streamed.get(1).cellValues()).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("column projection and row selection apply to .xls sheets")
+    void testProjectionAndSelection() throws IOException {
+        byte[] bytes;
+        try (var workbook = new HSSFWorkbook(); var out = new ByteArrayOutputStream()) {
+            var sheet = workbook.createSheet();
+            for (int r = 0; r < 100; r++) {
+                if (r == 50) continue;
+                var row = sheet.createRow(r);
+                row.createCell(0).setCellValue(r);
+                row.createCell(1).setCellValue("row " + r);
+            }
+            workbook.write(out);
+            bytes = out.toByteArray();
+        }
+
+        try (var reader = SheetReader.open(new ByteArrayInputStream(bytes))) {
+            var rows = new ArrayList<ParsedRow>();
+            reader.readSheet(0, ColumnProjection.of(1), IndexSource.range(48, 51), rows::add);
+            assertThat(rows).containsExactly(
+                    new ParsedRow(List.of(EmptyCellValue.INSTANCE, new StringCellValue("row 48"))),
+                    new ParsedRow(List.of(EmptyCellValue.INSTANCE, new StringCellValue("row 49"))),
+                    new ParsedRow(List.of(EmptyCellValue.INSTANCE, new StringCellValue("row 51"))));
+
+            rows.clear();
+            reader.readSheet(0, ColumnProjection.ALL, IndexSource.range(-2, null), rows::add);
+            assertThat(rows).extracting(row -> row.cellValues().getFirst()).containsExactly(new NumberCellValue(98), new NumberCellValue(99));
+        }
+    }
+
+    private static byte[] createWorkbook() throws IOException {
+        try (var workbook = new HSSFWorkbook(); var out = new ByteArrayOutputStream()) {
+            var dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("dd.MM.yyyy"));
+
+            var sheet = workbook.createSheet("First");
+            var first = sheet.createRow(0);
+            first.createCell(0).setCellValue("text");
+            first.createCell(1).setCellValue(1.5);
+            first.createCell(2).setCellValue(true);
+            var dateCell = first.createCell(3);
+            dateCell.setCellValue(LocalDate.of(2025, 5, 15));
+            dateCell.setCellStyle(dateStyle);
+            first.createCell(4);
+            first.createCell(5).setCellValue("text");
+
+            sheet.createRow(1).createCell(3).setCellErrorValue(FormulaError.NA); // error only row is skipped
+
+            var third = sheet.createRow(2);
+            third.createCell(2).setCellFormula("1+2");
+            third.getCell(2).setCellValue(3.0);
+            third.createCell(3).setCellFormula("1/0");
+            third.getCell(3).setCellErrorValue(FormulaError.DIV0);
+            third.createCell(4).setCellFormula("\"a\"&\"b\"");
+            third.getCell(4).setCellValue("ab");
+            third.createCell(5).setCellFormula("1>2");
+            third.getCell(5).setCellValue(false);
+
+            workbook.createSheet("Second").createRow(3).createCell(0).setCellValue(42);
+
+            workbook.write(out);
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package org.example;
+
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import rangeCust.IndexSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class XlsxSheetReaderTest {
+    @Test
+    @DisplayName("streaming reader matches usermodel reader on sample workbook")
+    void testSampleWorkbook() throws IOException {
+        byte[] bytes;
+        try (var fileStream = Main.class.getClassLoader().getResourceAsStream("Parsing.xlsx")) {
+            assert fileStream != null;
+            bytes = fileStream.readAllBytes();
+        }
+
+        var streamed = Main.readExcel(new ByteArrayInputStream(bytes));
+        var loaded = Main.readWorkbook(new ByteArrayInputStream(bytes));
+
+        assertThat(streamed).isNotEmpty().isEqualTo(loaded);
+    }
+
+    @Test
+    @DisplayName("streaming reader maps cell types like usermodel reader")
+    void testCellTypes() throws IOException {
+        var bytes = createWorkbook();
+
+        var streamed = Main.readExcel(new ByteArrayInputStream(bytes));
+        var loaded = Main.readWorkbook(new ByteArrayInputStream(bytes));
+
+        assertThat(streamed).isEqualTo(loaded);
+        assertThat(streamed).containsExactly(
+                new ParsedRow(List.of(new StringCellValue("text"), new NumberCellValue(1.5), new BooleanCellValue(true),
+                        new DateCellValue(LocalDate.of(2025, 5, 15)), EmptyCellValue.INSTANCE, new StringCellValue("inline"))),
+                new ParsedRow(List.of(EmptyCellValue.INSTANCE, EmptyCellValue.INSTANCE, new NumberCellValue(3.0),
+                        new ErrorCellValue("#DIV/0!@D3:1/0"), new StringCellValue("ab")))
+        );
+    }
+
+    @Test
+    @DisplayName("rows are pushed to consumer and sheets can be selected by name")
+    void testReadSheetByName() throws IOException {
+        var bytes = createWorkbook();
+
+        try (var reader = XlsxSheetReader.open(new ByteArrayInputStream(bytes))) {
+            assertThat(reader.sheetNames()).containsExactly("First", "Second");
+
+            var rows = new ArrayList<ParsedRow>();
+            reader.readSheet("Second", rows::add);
+            assertThat(rows).containsExactly(new ParsedRow(List.of(new NumberCellValue(42.0))));
+
+            assertThatIllegalArgumentException().isThrownBy(() -> reader.readSheet("Missing", rows::add));
+        }
+    }
+
+    @Test
+    @DisplayName("cells outside of column projection are read as empty and do not keep rows")
+    void testColumnProjection() throws IOException {
+        var bytes = createWorkbook();
+
+        try (var reader = XlsxSheetReader.open(new ByteArrayInputStream(bytes))) {
+            var rows = new ArrayList<ParsedRow>();
+            reader.readSheet("First", ColumnProjection.of(0, 3), rows::add);
+            assertThat(rows).containsExactly(
+                    new ParsedRow(List.of(new StringCellValue("text"), EmptyCellValue.INSTANCE, EmptyCellValue.INSTANCE,
+                            new DateCellValue(LocalDate.of(2025, 5, 15)), EmptyCellValue.INSTANCE, EmptyCellValue.INSTANCE)),
+                    new ParsedRow(List.of(EmptyCellValue.INSTANCE, EmptyCellValue.INSTANCE, EmptyCellValue.INSTANCE,
+                            new ErrorCellValue("#DIV/0!@D3:1/0"), EmptyCellValue.INSTANCE)));
+
+            rows.clear();
+            var projection = ColumnProjection.from(List.of(EmptyColumnDefinition.INSTANCE, new DoubleColumnDefinition()));
+            reader.readSheet("First", projection, rows::add);
+            assertThat(rows).containsExactly(new ParsedRow(List.of(EmptyCellValue.INSTANCE, new NumberCellValue(1.5),
+                    EmptyCellValue.INSTANCE, EmptyCellValue.INSTANCE, EmptyCellValue.INSTANCE, EmptyCellValue.INSTANCE)));
+        }
+    }
+
+    @Test
+    @DisplayName("only selected sheet rows are read")
+    void testRowSelection() throws IOException {
+        byte[] bytes;
+        try (var workbook = new XSSFWorkbook(); var out = new ByteArrayOutputStream()) {
+            var sheet = workbook.createSheet();
+            for (int r = 0; r < 100; r++)
+                if (r != 50) sheet.createRow(r).createCell(0).setCellValue(r);
+            workbook.write(out);
+            bytes = out.toByteArray();
+        }
+
+        try (var reader = XlsxSheetReader.open(new ByteArrayInputStream(bytes))) {
+            assertThat(readRows(reader, IndexSource.range(0, 3))).containsExactly(0.0, 1.0, 2.0, 3.0);
+            assertThat(readRows(reader, IndexSource.range(48, 51))).containsExactly(48.0, 49.0, 51.0);
+            assertThat(readRows(reader, IndexSource.range(-2, null))).containsExactly(98.0, 99.0);
+            assertThat(readRows(reader, new IndexSource.CombiningRange(List.of(IndexSource.single(-1), IndexSource.single(7)))))
+                    .containsExactly(7.0, 99.0);
+            assertThat(readRows(reader, IndexSource.from(List.of(5, 500)))).containsExactly(5.0);
+            assertThat(readRows(reader, IndexSource.empty())).isEmpty();
+            assertThat(readRows(reader, IndexSource.all())).hasSize(99);
+        }
+    }
+
+    @Test
+    @DisplayName("workbook can be read in place from path or file channel")
+    void testReadFromFile(@TempDir Path directory) throws IOException {
+        var bytes = createWorkbook();
+        var file = Files.write(directory.resolve("workbook.xlsx"), bytes);
+        var expected = Main.readExcel(new ByteArrayInputStream(bytes));
+
+        assertThat(Main.readExcel(file)).isNotEmpty().isEqualTo(expected);
+        assertThat(Main.readWorkbook(file)).isEqualTo(expected);
+
+        var channel = FileChannel.open(file, StandardOpenOption.READ);
+        try (var reader = XlsxSheetReader.open(channel)) {
+            var rows = new ArrayList<ParsedRow>();
+            reader.readSheet("First", rows::add);
+            assertThat(rows).isEqualTo(expected);
+        }
+        assertThat(channel.isOpen()).isFalse();
+    }
+
+    @Test
+    @DisplayName("repeated shared strings are decoded once and parsed once per column")
+    void testSharedStrings() throws IOException {
+        byte[] bytes;
+        try (var workbook = new XSSFWorkbook(); var out = new ByteArrayOutputStream()) {
+            var sheet = workbook.createSheet();
+            for (int r = 0; r < 100; r++) {
+                var row = sheet.createRow(r);
+                row.createCell(0).setCellValue(r % 2 == 0 ? "red" : "blue");
+                row.createCell(1).setCellValue(r % 2 == 0 ? "EUR" : "USD");
+            }
+            workbook.write(out);
+            bytes = out.toByteArray();
+        }
+
+        var rows = Main.readExcel(new ByteArrayInputStream(bytes));
+        assertThat(rows.get(2).cellValues().getFirst()).isSameAs(rows.get(0).cellValues().getFirst());
+
+        var converter = RowConverter.compile(List.of(new EnumColumnDefinition(Color.class), new StringColumnDefinition()));
+        var converted = rows.stream().map(converter::convert).toList();
+        assertThat(converted.get(98).getFirst()).isEqualTo(new EnumValue<>(Color.RED)).isSameAs(converted.get(0).getFirst());
+        assertThat(converted.get(99).get(1)).isEqualTo(new StringValue("USD")).isSameAs(converted.get(1).get(1));
+    }
+
+    @Test
+    @DisplayName("date style cache agrees with DateUtil for every style")
+    void testDateStyleCache() throws IOException {
+        try (var workbook = new XSSFWorkbook()) {
+            var formats = workbook.getCreationHelper().createDataFormat();
+            var cells = workbook.createSheet().createRow(0);
+            var patterns = List.of("General", "dd.MM.yyyy", "0.00", "yyyy-mm-dd hh:mm", "#,##0", "[h]:mm:ss");
+            for (int i = 0; i < patterns.size(); i++) {
+                var style = workbook.createCellStyle();
+                style.setDataFormat(formats.getFormat(patterns.get(i)));
+                var cell = cells.createCell(i);
+                cell.setCellValue(45000.5);
+                cell.setCellStyle(style);
+            }
+
+            var cache = DateStyleCache.of(workbook);
+            for (var cell : cells) {
+                assertThat(cache.isDateFormatted(cell)).as(cell.getCellStyle().getDataFormatString())
+                        .isEqualTo(DateUtil.isCellDateFormatted(cell));
+                assertThat(cache.isDateFormatted(cell)).isEqualTo(cache.isDateStyle(cell.getCellStyle().getIndex()));
+            }
+            assertThat(cache.isDateFormatted(cells.getCell(1).getCellStyle().getIndex(), -1)).isFalse();
+            assertThat(DateStyleCache.of((StylesTable) null).isDateStyle(3)).isFalse();
+        }
+    }
+
+    private static List<Double> readRows(XlsxSheetReader reader, IndexSource rows) throws IOException {
+        var values = new ArrayList<Double>();
+        reader.readSheet(0, ColumnProjection.ALL, rows,
+                row -> values.add(((NumberCellValue) row.cellValues().getFirst()).value()));
+        return values;
+    }
+
+    private static byte[] createWorkbook() throws IOException {
+        try (var workbook = new XSSFWorkbook(); var out = new ByteArrayOutputStream()) {
+            var dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("dd.MM.yyyy"));
+
+            var sheet = workbook.createSheet("First");
+            var first = sheet.createRow(0);
+            first.createCell(0).setCellValue("text");
+            first.createCell(1).setCellValue(1.5);
+            first.createCell(2).setCellValue(true);
+            var dateCell = first.createCell(3);
+            dateCell.setCellValue(LocalDate.of(2025, 5, 15));
+            dateCell.setCellStyle(dateStyle);
+            first.createCell(4);
+            first.createCell(5).setCellValue(new org.apache.poi.xssf.usermodel.XSSFRichTextString("inline"));
+
+            sheet.createRow(1).createCell(3).setCellErrorValue(FormulaError.NA); // error only row is skipped
+
+            var third = sheet.createRow(2);
+            third.createCell(2).setCellFormula("1+2");
+            third.getCell(2).setCellValue(3.0);
+            third.createCell(3).setCellFormula("1/0");
+            third.getCell(3).setCellErrorValue(FormulaError.DIV0);
+            third.createCell(4).setCellFormula("\"a\"&\"b\"");
+            third.getCell(4).setCellValue("ab");
+
+            workbook.createSheet("Second").createRow(3).createCell(0).setCellValue(42);
+
+            workbook.write(out);
+            return out.toByteArray();
+        }
+    }
+}